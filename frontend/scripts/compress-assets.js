@@ -0,0 +1,26 @@
+// Writes gzip and brotli siblings for the content-hashed Vite bundle so that
+// Spring's EncodedResourceResolver can serve them without compressing per request.
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs';
+import { join } from 'node:path';
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib';
+
+const ASSETS_DIR = new URL('../../src/main/resources/static/assets', import.meta.url).pathname;
+const COMPRESSIBLE = /\.(js|css|svg|json|html|txt|map)$/;
+const MIN_SIZE = 1024;
+
+for (const name of readdirSync(ASSETS_DIR)) {
+    const file = join(ASSETS_DIR, name);
+    if (!COMPRESSIBLE.test(name) || statSync(file).size < MIN_SIZE) {
+        continue;
+    }
+
+    const content = readFileSync(file);
+    writeFileSync(`${file}.gz`, gzipSync(content, { level: 9 }));
+    writeFileSync(`${file}.br`, brotliCompressSync(content, {
+        params: {
+            [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+            [constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+        },
+    }));
+    console.log(`compressed ${name}`);
+}
@@ -0,0 +1,294 @@
+package com.Todo.todo_list.Analytics;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Todo.todo_list.Entity.ActivityRollup;
+import com.Todo.todo_list.Entity.ActivityRollup.Granularity;
+import com.Todo.todo_list.Repository.ActivityRollupRepository;
+
+/**
+ * Hourly and daily activity counters (todos created, completed, reopened, deleted)
+ * and daily active users. The mutation paths bump in-memory adders after commit;
+ * a scheduled flush adds the deltas to activity_rollups and inserts new
+ * (day, user) pairs into daily_active_users, so reports never touch todos or users.
+ * Deltas not yet flushed (at most todo.analytics.flush-interval-ms) are lost on a crash.
+ */
+@Component
+public class ActivityRollups {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityRollups.class);
+
+    private static final String ADD_TO_BUCKET = "UPDATE activity_rollups SET created_count = created_count + ?, "
+            + "completed_count = completed_count + ?, reopened_count = reopened_count + ?, "
+            + "deleted_count = deleted_count + ? WHERE granularity = ? AND bucket_start = ?";
+
+    private static final String INSERT_BUCKET = "INSERT INTO activity_rollups "
+            + "(granularity, bucket_start, created_count, completed_count, reopened_count, deleted_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ACTIVE_USER = "INSERT INTO daily_active_users (activity_date, user_id) "
+            + "SELECT ?, ? FROM DUAL WHERE NOT EXISTS "
+            + "(SELECT 1 FROM daily_active_users WHERE activity_date = ? AND user_id = ?)";
+
+    private record Bucket(Granularity granularity, LocalDateTime start) {
+    }
+
+    private static final class Counters {
+        final LongAdder created = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder reopened = new LongAdder();
+        final LongAdder deleted = new LongAdder();
+    }
+
+    private record Delta(Bucket bucket, long created, long completed, long reopened, long deleted) {
+    }
+
+    private final ActivityRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Bucket, Counters> counters = new ConcurrentHashMap<>();
+    // Users active per day and not yet written
+    private final Map<LocalDate, Set<Long>> pendingActive = new ConcurrentHashMap<>();
+    // Users already written, for the current and previous day only
+    private final Map<LocalDate, Set<Long>> recordedActive = new ConcurrentHashMap<>();
+
+    @Value("${todo.analytics.enabled:true}")
+    private boolean enabled;
+
+    public ActivityRollups(ActivityRollupRepository rollupRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Mutation hooks, applied after the surrounding transaction commits
+
+    public void onTodosCreated(Long userId, long count, long completed) {
+        afterCommit(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            forEachBucket(now, c -> {
+                c.created.add(count);
+                c.completed.add(completed);
+            });
+            markActive(userId, now.toLocalDate());
+        });
+    }
+
+    public void onTodoCompletionChanged(Long userId, boolean completed) {
+        afterCommit(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            forEachBucket(now, c -> (completed ? c.completed : c.reopened).increment());
+            markActive(userId, now.toLocalDate());
+        });
+    }
+
+    public void onTodoUpdated(Long userId) {
+        afterCommit(() -> markActive(userId, LocalDate.now()));
+    }
+
+    public void onTodoDeleted(Long userId) {
+        afterCommit(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            forEachBucket(now, c -> c.deleted.increment());
+            markActive(userId, now.toLocalDate());
+        });
+    }
+
+    public void onLogin(Long userId) {
+        afterCommit(() -> markActive(userId, LocalDate.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${todo.analytics.flush-interval-ms:10000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        List<Delta> deltas = drainCounters();
+        if (!deltas.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::writeDelta));
+            } catch (DataAccessException e) {
+                log.warn("Could not flush activity rollups, will retry", e);
+                deltas.forEach(this::restore);
+            }
+        }
+        flushActiveUsers();
+    }
+
+    /**
+     * Buckets in [from, to] (days, inclusive) with totals and active users
+     */
+    public Map<String, Object> report(Granularity granularity, LocalDate from, LocalDate to) {
+        List<ActivityRollup> rollups = rollupRepository
+                .findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                        granularity, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        long created = 0;
+        long completed = 0;
+        long reopened = 0;
+        long deleted = 0;
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        for (ActivityRollup rollup : rollups) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("start", rollup.getBucketStart());
+            bucket.put("created", rollup.getCreated());
+            bucket.put("completed", rollup.getCompleted());
+            bucket.put("reopened", rollup.getReopened());
+            bucket.put("deleted", rollup.getDeleted());
+            buckets.add(bucket);
+            created += rollup.getCreated();
+            completed += rollup.getCompleted();
+            reopened += rollup.getReopened();
+            deleted += rollup.getDeleted();
+        }
+
+        Map<String, Long> activeByDay = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.countActiveUsersByDay(from, to)) {
+            activeByDay.put(row[0].toString(), ((Number) row[1]).longValue());
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("created", created);
+        totals.put("completed", completed);
+        totals.put("reopened", reopened);
+        totals.put("deleted", deleted);
+        // Completions net of reopens over todos created in the range
+        totals.put("completionRate", created > 0 ? (double) (completed - reopened) / created : null);
+        totals.put("activeUsers", rollupRepository.countActiveUsers(from, to));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("granularity", granularity);
+        report.put("from", from);
+        report.put("to", to);
+        report.put("totals", totals);
+        report.put("buckets", buckets);
+        report.put("activeUsersByDay", activeByDay);
+        return report;
+    }
+
+    private void forEachBucket(LocalDateTime at, Consumer<Counters> update) {
+        if (!enabled) {
+            return;
+        }
+        update.accept(counters.computeIfAbsent(new Bucket(Granularity.HOUR, at.truncatedTo(ChronoUnit.HOURS)),
+                b -> new Counters()));
+        update.accept(counters.computeIfAbsent(new Bucket(Granularity.DAY, at.truncatedTo(ChronoUnit.DAYS)),
+                b -> new Counters()));
+    }
+
+    private void markActive(Long userId, LocalDate day) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        Set<Long> recorded = recordedActive.get(day);
+        if (recorded != null && recorded.contains(userId)) {
+            return;
+        }
+        pendingActive.computeIfAbsent(day, d -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    private List<Delta> drainCounters() {
+        List<Delta> deltas = new ArrayList<>();
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        counters.forEach((bucket, c) -> {
+            Delta delta = new Delta(bucket, c.created.sumThenReset(), c.completed.sumThenReset(),
+                    c.reopened.sumThenReset(), c.deleted.sumThenReset());
+            if (delta.created() != 0 || delta.completed() != 0 || delta.reopened() != 0 || delta.deleted() != 0) {
+                deltas.add(delta);
+            } else if (bucket.granularity() == Granularity.HOUR && bucket.start().isBefore(currentHour)) {
+                // Past buckets stop receiving updates; drop them once empty
+                counters.remove(bucket, c);
+            } else if (bucket.granularity() == Granularity.DAY
+                    && bucket.start().isBefore(currentHour.truncatedTo(ChronoUnit.DAYS))) {
+                counters.remove(bucket, c);
+            }
+        });
+        return deltas;
+    }
+
+    private void writeDelta(Delta delta) {
+        Timestamp start = Timestamp.valueOf(delta.bucket().start());
+        String granularity = delta.bucket().granularity().name();
+        int updated = jdbcTemplate.update(ADD_TO_BUCKET, delta.created(), delta.completed(), delta.reopened(),
+                delta.deleted(), granularity, start);
+        if (updated == 0) {
+            jdbcTemplate.update(INSERT_BUCKET, granularity, start, delta.created(), delta.completed(),
+                    delta.reopened(), delta.deleted());
+        }
+    }
+
+    private void restore(Delta delta) {
+        Counters c = counters.computeIfAbsent(delta.bucket(), b -> new Counters());
+        c.created.add(delta.created());
+        c.completed.add(delta.completed());
+        c.reopened.add(delta.reopened());
+        c.deleted.add(delta.deleted());
+    }
+
+    private void flushActiveUsers() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        recordedActive.keySet().removeIf(day -> day.isBefore(yesterday));
+
+        for (Map.Entry<LocalDate, Set<Long>> entry : pendingActive.entrySet()) {
+            LocalDate day = entry.getKey();
+            Date sqlDay = Date.valueOf(day);
+            Set<Long> recorded = day.isBefore(yesterday) ? null
+                    : recordedActive.computeIfAbsent(day, d -> ConcurrentHashMap.newKeySet());
+            for (Long userId : List.copyOf(entry.getValue())) {
+                try {
+                    jdbcTemplate.update(INSERT_ACTIVE_USER, sqlDay, userId, sqlDay, userId);
+                } catch (DataIntegrityViolationException e) {
+                    // Written concurrently by another instance
+                } catch (DataAccessException e) {
+                    log.warn("Could not record active user {} for {}, will retry", userId, day, e);
+                    continue;
+                }
+                entry.getValue().remove(userId);
+                if (recorded != null) {
+                    recorded.add(userId);
+                }
+            }
+        }
+        pendingActive.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.Todo.todo_list.Backup;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Location of a file-based H2 database, parsed from its JDBC URL
+ * (jdbc:h2:file:./data/todolist;... is ./data with base name todolist)
+ */
+record H2FileDatabase(Path directory, String name) {
+
+    private static final String PREFIX = "jdbc:h2:file:";
+
+    /**
+     * The database of the URL, or null if it is not a file-based H2 URL
+     */
+    static H2FileDatabase fromUrl(String url) {
+        if (url == null || !url.toLowerCase(Locale.ROOT).startsWith(PREFIX)) {
+            return null;
+        }
+        String location = url.substring(PREFIX.length());
+        int options = location.indexOf(';');
+        if (options >= 0) {
+            location = location.substring(0, options);
+        }
+        Path path = Path.of(location.replace("~", System.getProperty("user.home"))).toAbsolutePath().normalize();
+        return new H2FileDatabase(path.getParent(), path.getFileName().toString());
+    }
+
+    Path storeFile() {
+        return directory.resolve(name + ".mv.db");
+    }
+}
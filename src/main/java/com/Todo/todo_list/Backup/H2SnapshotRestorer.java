@@ -0,0 +1,89 @@
+package com.Todo.todo_list.Backup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores the H2 database from the snapshot named by todo.snapshot.restore-from at
+ * startup. Runs as a bean factory post-processor, i.e. before the DataSource is
+ * created. The current store file is kept as name.mv.db.before-restore and a
+ * .restored marker next to the snapshot prevents restoring it again on the next start.
+ */
+@Component
+public class H2SnapshotRestorer implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final Logger log = LoggerFactory.getLogger(H2SnapshotRestorer.class);
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        String restoreFrom = environment.getProperty("todo.snapshot.restore-from", "");
+        if (restoreFrom.isBlank()) {
+            return;
+        }
+        H2FileDatabase database = H2FileDatabase.fromUrl(environment.getProperty("spring.datasource.url"));
+        if (database == null) {
+            throw new IllegalStateException("todo.snapshot.restore-from needs a file-based H2 database");
+        }
+        Path snapshot = Path.of(restoreFrom).toAbsolutePath().normalize();
+        Path marker = snapshot.resolveSibling(snapshot.getFileName() + ".restored");
+        if (Files.exists(marker)) {
+            log.info("Snapshot {} was already restored, skipping", snapshot);
+            return;
+        }
+        try {
+            restore(snapshot, database);
+            Files.createFile(marker);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not restore snapshot " + snapshot, e);
+        }
+        log.info("Restored {} from snapshot {}", database.storeFile(), snapshot);
+    }
+
+    private static void restore(Path snapshot, H2FileDatabase database) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            throw new IOException("Snapshot not found: " + snapshot);
+        }
+        Files.createDirectories(database.directory());
+        Path current = database.storeFile();
+        if (Files.exists(current)) {
+            Files.move(current, current.resolveSibling(current.getFileName() + ".before-restore"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (InputStream in = Files.newInputStream(snapshot); ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                // Entries are named after the database file; anything else is ignored
+                String name = Path.of(entry.getName()).getFileName().toString();
+                if (name.startsWith(database.name() + ".")) {
+                    Files.copy(zip, database.directory().resolve(name), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        if (!Files.exists(current)) {
+            throw new IOException("Snapshot " + snapshot + " does not contain " + current.getFileName());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.Todo.todo_list.Backup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Online snapshots of the file-based H2 database. H2's BACKUP TO copies the
+ * MVStore file into a zip while the database stays open: readers and writers
+ * continue, only chunk reuse is held back until the copy is done. Snapshots are
+ * written under a temporary name and renamed when complete, the newest
+ * todo.snapshot.keep are retained. Triggered from the admin API or by
+ * todo.snapshot.cron; see {@link H2SnapshotRestorer} for restoring one.
+ */
+@Component
+public class H2Snapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(H2Snapshots.class);
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final H2FileDatabase database;
+    private final Path directory;
+    private final int keep;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Snapshot last;
+    private volatile long completed;
+    private volatile long failures;
+
+    public record Snapshot(String file, long sizeBytes, long durationMs, LocalDateTime takenAt) {
+    }
+
+    public H2Snapshots(JdbcTemplate jdbcTemplate,
+            @Value("${spring.datasource.url:}") String url,
+            @Value("${todo.snapshot.directory:./data/snapshots}") String directory,
+            @Value("${todo.snapshot.keep:7}") int keep) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.database = H2FileDatabase.fromUrl(url);
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.keep = Math.max(1, keep);
+    }
+
+    public boolean isSupported() {
+        return database != null;
+    }
+
+    @Scheduled(cron = "${todo.snapshot.cron:-}")
+    public void scheduledSnapshot() {
+        if (!isSupported()) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (RuntimeException | IOException e) {
+            log.warn("Scheduled snapshot failed", e);
+        }
+    }
+
+    /**
+     * Take a snapshot now; IllegalStateException if unsupported or one is already running
+     */
+    public Snapshot snapshot() throws IOException {
+        if (!isSupported()) {
+            throw new IllegalStateException("Snapshots need a file-based H2 database");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A snapshot is already running");
+        }
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(database.name() + "-" + LocalDateTime.now().format(STAMP) + ".zip");
+            Path partial = directory.resolve(target.getFileName() + ".part");
+
+            long start = System.nanoTime();
+            jdbcTemplate.execute("BACKUP TO '" + partial.toString().replace("'", "''") + "'");
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+            Snapshot snapshot = new Snapshot(target.toString(), Files.size(target), durationMs, LocalDateTime.now());
+            last = snapshot;
+            completed++;
+            log.info("Snapshot {} written in {} ms ({} bytes)", target, durationMs, snapshot.sizeBytes());
+            prune();
+            return snapshot;
+        } catch (RuntimeException | IOException e) {
+            failures++;
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> getMetrics() throws IOException {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("supported", isSupported());
+        metrics.put("directory", directory.toString());
+        metrics.put("running", running.get());
+        metrics.put("completed", completed);
+        metrics.put("failures", failures);
+        metrics.put("last", last);
+        metrics.put("available", list().stream().map(path -> path.getFileName().toString()).toList());
+        return metrics;
+    }
+
+    private List<Path> list() throws IOException {
+        if (database == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Timestamped names sort chronologically
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(database.name() + "-") && name.endsWith(".zip");
+            }).sorted().toList();
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> snapshots = list();
+        for (int i = 0; i < snapshots.size() - keep; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+}
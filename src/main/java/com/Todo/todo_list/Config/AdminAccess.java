@@ -0,0 +1,30 @@
+package com.Todo.todo_list.Config;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grants ROLE_ADMIN (for /api/admin/**) to the usernames listed in todo.admin.usernames
+ */
+@Component
+public class AdminAccess {
+
+    private static final List<GrantedAuthority> USER = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final List<GrantedAuthority> ADMIN = List.of(
+            new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    private final Set<String> adminUsernames;
+
+    public AdminAccess(@Value("${todo.admin.usernames:}") Set<String> adminUsernames) {
+        this.adminUsernames = adminUsernames;
+    }
+
+    public List<GrantedAuthority> authoritiesFor(String username) {
+        return adminUsernames.contains(username) ? ADMIN : USER;
+    }
+}
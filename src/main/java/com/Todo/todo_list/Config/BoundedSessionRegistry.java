@@ -0,0 +1,266 @@
+package com.Todo.todo_list.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.session.AbstractSessionEvent;
+import org.springframework.security.core.session.SessionDestroyedEvent;
+import org.springframework.security.core.session.SessionIdChangedEvent;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+
+/**
+ * SessionRegistry with a fixed capacity. Principals are spread over lock stripes, each
+ * holding its principals' session ids and its sessions in registration order; when a
+ * stripe is full its oldest live session is dropped, and SessionAuthenticationFilter
+ * logs that session out on its next request. Expired sessions are never dropped to
+ * make room: ConcurrentSessionFilter lets through any session without an entry, so
+ * the marker is what keeps a session expired by a newer login out. A stripe holding
+ * nothing but expired markers grows past its capacity until they are destroyed or
+ * swept. A sweep removes sessions idle for longer than the session timeout whose
+ * destroyed event was missed.
+ */
+public class BoundedSessionRegistry implements SessionRegistry, ApplicationListener<AbstractSessionEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedSessionRegistry.class);
+
+    // Approximate heap per session: SessionInformation + Date, the id String, the
+    // ConcurrentHashMap node, the LinkedHashMap entry and the entry in the principal's set
+    private static final long SESSION_ENTRY_BYTES = 200;
+    // Per principal: the HashMap node plus a HashSet with its backing map and table
+    private static final long PRINCIPAL_ENTRY_BYTES = 160;
+
+    private final Map<String, SessionInformation> sessionIds = new ConcurrentHashMap<>();
+    private final Stripe[] stripes;
+    private final int stripeCapacity;
+    private final Duration maxIdle;
+
+    private final LongAdder registered = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder swept = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public BoundedSessionRegistry(int maxEntries, int stripeCount, Duration maxIdle) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, maxEntries)));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeCapacity = Math.max(1, maxEntries / count);
+        this.maxIdle = maxIdle;
+    }
+
+    @Override
+    public List<Object> getAllPrincipals() {
+        List<Object> principals = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                principals.addAll(stripe.sessionsByPrincipal.keySet());
+            }
+        }
+        return principals;
+    }
+
+    @Override
+    public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+        Stripe stripe = stripeFor(principal);
+        List<SessionInformation> sessions = new ArrayList<>();
+        synchronized (stripe) {
+            Set<String> ids = stripe.sessionsByPrincipal.get(principal);
+            if (ids == null) {
+                return sessions;
+            }
+            for (String id : ids) {
+                SessionInformation info = stripe.sessions.get(id);
+                if (info != null && (includeExpiredSessions || !info.isExpired())) {
+                    sessions.add(info);
+                }
+            }
+        }
+        return sessions;
+    }
+
+    @Override
+    public SessionInformation getSessionInformation(String sessionId) {
+        return sessionIds.get(sessionId);
+    }
+
+    @Override
+    public void refreshLastRequest(String sessionId) {
+        SessionInformation info = sessionIds.get(sessionId);
+        if (info != null) {
+            info.refreshLastRequest();
+        }
+    }
+
+    @Override
+    public void registerNewSession(String sessionId, Object principal) {
+        if (sessionIds.containsKey(sessionId)) {
+            removeSessionInformation(sessionId);
+        }
+        SessionInformation info = new SessionInformation(principal, sessionId, new Date());
+        Stripe stripe = stripeFor(principal);
+        synchronized (stripe) {
+            if (stripe.sessions.size() >= stripeCapacity) {
+                evictOldestLive(stripe);
+            }
+            stripe.sessions.put(sessionId, info);
+            stripe.sessionsByPrincipal.computeIfAbsent(principal, p -> new HashSet<>()).add(sessionId);
+            sessionIds.put(sessionId, info);
+        }
+        registered.increment();
+    }
+
+    // Full stripe: drop its oldest registration that is not an expired marker
+    private void evictOldestLive(Stripe stripe) {
+        Iterator<SessionInformation> it = stripe.sessions.values().iterator();
+        while (it.hasNext()) {
+            SessionInformation info = it.next();
+            if (!info.isExpired()) {
+                it.remove();
+                stripe.unlink(info);
+                sessionIds.remove(info.getSessionId());
+                evicted.increment();
+                return;
+            }
+        }
+        overflowed.increment();
+    }
+
+    @Override
+    public void removeSessionInformation(String sessionId) {
+        SessionInformation info = sessionIds.get(sessionId);
+        if (info == null) {
+            return;
+        }
+        Stripe stripe = stripeFor(info.getPrincipal());
+        synchronized (stripe) {
+            if (stripe.sessions.remove(sessionId) != null) {
+                stripe.unlink(info);
+                sessionIds.remove(sessionId);
+            }
+        }
+    }
+
+    // Session destroyed (logout, timeout) or id changed, published by HttpSessionEventPublisher
+    @Override
+    public void onApplicationEvent(AbstractSessionEvent event) {
+        if (event instanceof SessionDestroyedEvent destroyedEvent) {
+            removeSessionInformation(destroyedEvent.getId());
+            destroyed.increment();
+        } else if (event instanceof SessionIdChangedEvent changedEvent) {
+            SessionInformation info = sessionIds.get(changedEvent.getOldSessionId());
+            if (info != null) {
+                removeSessionInformation(changedEvent.getOldSessionId());
+                registerNewSession(changedEvent.getNewSessionId(), info.getPrincipal());
+                SessionInformation renamed = sessionIds.get(changedEvent.getNewSessionId());
+                if (info.isExpired() && renamed != null) {
+                    renamed.expireNow();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove sessions idle for longer than the session timeout. The container has
+     * destroyed those already, so an expired marker never outlives its session.
+     */
+    @Scheduled(fixedDelayString = "${todo.sessions.sweep-interval-ms:60000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - maxIdle.toMillis();
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<SessionInformation> it = stripe.sessions.values().iterator();
+                while (it.hasNext()) {
+                    SessionInformation info = it.next();
+                    if (info.getLastRequest().getTime() < cutoff) {
+                        it.remove();
+                        stripe.unlink(info);
+                        sessionIds.remove(info.getSessionId());
+                        removed++;
+                    }
+                }
+            }
+        }
+        if (removed > 0) {
+            swept.add(removed);
+            log.debug("Swept {} idle sessions from the session registry", removed);
+        }
+    }
+
+    /**
+     * Entry counts, approximate heap use and eviction counters
+     */
+    public Map<String, Object> getMetrics() {
+        long sessions = 0;
+        long principals = 0;
+        long expired = 0;
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                sessions += stripe.sessions.size();
+                principals += stripe.sessionsByPrincipal.size();
+                for (SessionInformation info : stripe.sessions.values()) {
+                    bytes += SESSION_ENTRY_BYTES + info.getSessionId().length();
+                    if (info.isExpired()) {
+                        expired++;
+                    }
+                }
+                for (Object principal : stripe.sessionsByPrincipal.keySet()) {
+                    bytes += PRINCIPAL_ENTRY_BYTES + String.valueOf(principal).length();
+                }
+            }
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sessions", sessions);
+        metrics.put("expiredSessions", expired);
+        metrics.put("principals", principals);
+        metrics.put("approxBytes", bytes);
+        metrics.put("capacity", (long) stripeCapacity * stripes.length);
+        metrics.put("stripes", stripes.length);
+        metrics.put("registered", registered.sum());
+        metrics.put("destroyed", destroyed.sum());
+        metrics.put("evicted", evicted.sum());
+        metrics.put("swept", swept.sum());
+        metrics.put("overflowed", overflowed.sum());
+        return metrics;
+    }
+
+    private Stripe stripeFor(Object principal) {
+        int h = principal.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    // Guarded by its own monitor
+    private static final class Stripe {
+        final Map<Object, Set<String>> sessionsByPrincipal = new HashMap<>();
+        // Registration order, oldest first
+        final LinkedHashMap<String, SessionInformation> sessions = new LinkedHashMap<>();
+
+        void unlink(SessionInformation info) {
+            Set<String> ids = sessionsByPrincipal.get(info.getPrincipal());
+            if (ids != null) {
+                ids.remove(info.getSessionId());
+                if (ids.isEmpty()) {
+                    sessionsByPrincipal.remove(info.getPrincipal());
+                }
+            }
+        }
+    }
+}
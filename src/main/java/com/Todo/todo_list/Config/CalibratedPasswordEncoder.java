@@ -0,0 +1,132 @@
+package com.Todo.todo_list.Config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt with the cost factor chosen at startup: the highest cost whose hash time on
+ * this machine stays within the target latency, never below the configured minimum.
+ * Hashes of any cost still match; upgradeEncoding() reports those made with a
+ * different cost so AuthService can rehash them on the next successful login.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+    private static final long MEASURE_NANOS = 250_000_000;
+
+    private final int strength;
+    private final BCryptPasswordEncoder encoder;
+    private final Map<String, Object> calibration;
+
+    private CalibratedPasswordEncoder(int strength, Map<String, Object> calibration) {
+        this.strength = strength;
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.calibration = calibration;
+    }
+
+    /**
+     * Fixed cost factor, no calibration
+     */
+    public static CalibratedPasswordEncoder withStrength(int strength) {
+        Map<String, Object> calibration = new LinkedHashMap<>();
+        calibration.put("strength", strength);
+        calibration.put("calibrated", false);
+        return new CalibratedPasswordEncoder(strength, calibration);
+    }
+
+    /**
+     * Measure the hash time at minStrength and pick the highest cost up to maxStrength
+     * expected to stay within targetMs (each step doubles the work). This runs during
+     * startup, when the JIT competes for the CPU, so the times lean high rather than low.
+     */
+    public static CalibratedPasswordEncoder calibrate(long targetMs, int minStrength, int maxStrength) {
+        double baseMs = measure(minStrength);
+        int strength = minStrength;
+        while (strength < maxStrength && baseMs * (1L << (strength + 1 - minStrength)) <= targetMs) {
+            strength++;
+        }
+        double chosenMs = strength == minStrength ? baseMs : measure(strength);
+
+        // Hash time per cost factor. Only minStrength and the chosen cost are measured,
+        // the other rows double the nearest measured one below per step and are marked
+        // as estimates. A login spends one hash, so the hash time bounds the logins per
+        // second of a core.
+        Map<Integer, Map<String, Object>> table = new LinkedHashMap<>();
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            boolean measured = cost == minStrength || cost == strength;
+            double ms = cost >= strength ? chosenMs * (1L << (cost - strength))
+                    : baseMs * (1L << (cost - minStrength));
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hashMs", Math.round(ms * 10) / 10.0);
+            row.put("loginsPerSecondPerCore", Math.round(1000 / ms * 10) / 10.0);
+            row.put("estimate", !measured);
+            table.put(cost, row);
+        }
+
+        Map<String, Object> calibration = new LinkedHashMap<>();
+        calibration.put("strength", strength);
+        calibration.put("calibrated", true);
+        calibration.put("targetMs", targetMs);
+        calibration.put("hashMs", Math.round(chosenMs * 10) / 10.0);
+        calibration.put("costs", table);
+        log.info("BCrypt strength {} calibrated to {} ms per hash (target {} ms)", strength, Math.round(chosenMs),
+                targetMs);
+        return new CalibratedPasswordEncoder(strength, calibration);
+    }
+
+    // Best of at least three runs and MEASURE_NANOS of hashing after a warm-up, in
+    // milliseconds. Short hashes get more runs: a single preempted run of a few ms would
+    // otherwise be doubled into every estimate above it.
+    private static double measure(int strength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(strength);
+        probe.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        long spent = 0;
+        for (int i = 0; i < 3 || spent < MEASURE_NANOS; i++) {
+            long start = System.nanoTime();
+            probe.encode(SAMPLE_PASSWORD);
+            long elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed);
+            spent += elapsed;
+        }
+        return best / 1e6;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encoder.matches(rawPassword, encodedPassword);
+    }
+
+    // True for hashes made with another cost, stronger or weaker
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public Map<String, Object> getCalibration() {
+        return calibration;
+    }
+}
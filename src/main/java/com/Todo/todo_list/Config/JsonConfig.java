@@ -0,0 +1,20 @@
+package com.Todo.todo_list.Config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Blackbird replaces reflective getter/setter calls with generated lambdas.
+     * Spring Boot registers every Module bean on the shared ObjectMapper.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -5,33 +5,47 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.session.SessionRegistry;
-import org.springframework.security.core.session.SessionRegistryImpl;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.session.HttpSessionEventPublisher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+        // Sessions per user; AuthService expires the oldest when a login goes over
+        public static final int MAXIMUM_SESSIONS = 1;
+
         @Autowired
         private SessionAuthenticationFilter sessionAuthenticationFilter;
 
+        /**
+         * BCrypt cost calibrated to todo.security.password-hash-target-ms, or fixed by
+         * todo.security.bcrypt-strength
+         */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public CalibratedPasswordEncoder passwordEncoder(
+                        @Value("${todo.security.bcrypt-strength:0}") int strength,
+                        @Value("${todo.security.password-hash-target-ms:250}") long targetMs,
+                        @Value("${todo.security.bcrypt-min-strength:10}") int minStrength,
+                        @Value("${todo.security.bcrypt-max-strength:15}") int maxStrength) {
+                if (strength > 0) {
+                        return CalibratedPasswordEncoder.withStrength(strength);
+                }
+                return CalibratedPasswordEncoder.calibrate(targetMs, minStrength, maxStrength);
         }
 
         @Bean
-        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain filterChain(HttpSecurity http, BoundedSessionRegistry sessionRegistry)
+                        throws Exception {
                 http
                                 // Disable CSRF for API endpoints (we're using session-based auth)
                                 .csrf(csrf -> csrf.disable())
@@ -42,9 +56,9 @@ public class SecurityConfig {
                                 // Configure session management
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
-                                                .maximumSessions(1)
+                                                .maximumSessions(MAXIMUM_SESSIONS)
                                                 .maxSessionsPreventsLogin(false)
-                                                .sessionRegistry(sessionRegistry()))
+                                                .sessionRegistry(sessionRegistry))
 
                                 // Configure authorization
                                 .authorizeHttpRequests(authz -> authz
@@ -64,6 +78,9 @@ public class SecurityConfig {
                                                                 "/api/auth/check-email/**")
                                                 .permitAll()
 
+                                                // Operational endpoints (traces, limits...) for admins only
+                                                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
                                                 // Require authentication for all other API endpoints
                                                 .requestMatchers("/api/**").authenticated()
 
@@ -88,9 +105,21 @@ public class SecurityConfig {
                 return http.build();
         }
 
+        /**
+         * Bounded session registry, swept of sessions idle past the session timeout
+         */
+        @Bean
+        public static BoundedSessionRegistry sessionRegistry(
+                        @Value("${todo.sessions.max-entries:100000}") int maxEntries,
+                        @Value("${todo.sessions.stripes:16}") int stripes,
+                        @Value("${todo.sessions.max-idle-minutes:1440}") long maxIdleMinutes) {
+                return new BoundedSessionRegistry(maxEntries, stripes, Duration.ofMinutes(maxIdleMinutes));
+        }
+
+        // Forwards servlet session destroyed / id changed events to the session registry
         @Bean
-        public SessionRegistry sessionRegistry() {
-                return new SessionRegistryImpl();
+        public HttpSessionEventPublisher httpSessionEventPublisher() {
+                return new HttpSessionEventPublisher();
         }
 
         @Bean
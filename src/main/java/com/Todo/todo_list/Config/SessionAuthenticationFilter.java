@@ -1,7 +1,9 @@
 package com.Todo.todo_list.Config;
 
 import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Monitoring.Tracer;
 import com.Todo.todo_list.Repository.UserRepository;
+import com.Todo.todo_list.Service.AuthService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,13 +11,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -23,21 +24,37 @@ public class SessionAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AdminAccess adminAccess;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute(AuthService.SESSION_REGISTERED_KEY) != null
+                && sessionRegistry.getSessionInformation(session.getId()) == null) {
+            // A logged-in session the bounded registry dropped to make room. Without an
+            // entry it would escape the per-user session limit, so it has to log in again
+            session.invalidate();
+            SecurityContextHolder.clearContext();
+            session = null;
+        }
         if (session != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Object userIdObj = session.getAttribute("user");
-            if (userIdObj instanceof Long userId) {
-                Optional<User> userOptional = userRepository.findById(userId);
-                if (userOptional.isPresent() && userOptional.get().isActive()) {
-                    User user = userOptional.get();
-                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                            user.getUsername(),
-                            null,
-                            List.of(new SimpleGrantedAuthority("ROLE_USER")));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
+            try (Tracer.Scope scope = Tracer.span("SessionAuthenticationFilter")) {
+                Object userIdObj = session.getAttribute("user");
+                if (userIdObj instanceof Long userId) {
+                    Optional<User> userOptional = userRepository.findById(userId);
+                    if (userOptional.isPresent() && userOptional.get().isActive()) {
+                        User user = userOptional.get();
+                        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                                user.getUsername(),
+                                null,
+                                adminAccess.authoritiesFor(user.getUsername()));
+                        SecurityContextHolder.getContext().setAuthentication(auth);
+                    }
                 }
             }
         }
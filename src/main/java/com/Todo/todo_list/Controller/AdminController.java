@@ -0,0 +1,205 @@
+package com.Todo.todo_list.Controller;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Todo.todo_list.Analytics.ActivityRollups;
+import com.Todo.todo_list.Backup.H2Snapshots;
+import com.Todo.todo_list.Config.BoundedSessionRegistry;
+import com.Todo.todo_list.Config.CalibratedPasswordEncoder;
+import com.Todo.todo_list.Entity.ActivityRollup;
+import com.Todo.todo_list.Facets.TodoFacetIndex;
+import com.Todo.todo_list.Journal.MutationJournal;
+import com.Todo.todo_list.Limits.UserLimits;
+import com.Todo.todo_list.Monitoring.Tracer;
+import com.Todo.todo_list.Service.AccountPurger;
+
+/**
+ * Operational endpoints, restricted to ROLE_ADMIN by SecurityConfig
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private UserLimits userLimits;
+
+    @Autowired
+    private TodoFacetIndex facetIndex;
+
+    @Autowired
+    private AccountPurger accountPurger;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private MutationJournal journal;
+
+    @Autowired
+    private H2Snapshots snapshots;
+
+    @Autowired
+    private CalibratedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private BoundedSessionRegistry sessionRegistry;
+
+    /**
+     * Most recent tracing spans, newest first
+     */
+    @GetMapping("/traces")
+    public ResponseEntity<Map<String, Object>> getTraces(@RequestParam(defaultValue = "200") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("sampleRate", tracer.getSampleRate());
+        response.put("recorded", tracer.getBuffer().getRecordedCount());
+        response.put("capacity", tracer.getBuffer().getCapacity());
+        response.put("spans", tracer.getBuffer().snapshot(Math.max(1, limit)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Per-user limit settings and rejection counters
+     */
+    @GetMapping("/limits")
+    public ResponseEntity<Map<String, Object>> getLimits() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("limits", userLimits.getMetrics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Facet index size, hit/load counts and evictions
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> getFacetIndex() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("facets", facetIndex.getMetrics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Account purges still running, with progress
+     */
+    @GetMapping("/purges")
+    public ResponseEntity<Map<String, Object>> getPurges() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("purges", accountPurger.getMetrics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Global activity from the rollup tables (granularity day or hour, dates inclusive)
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<Map<String, Object>> getAnalytics(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : toDate.minusDays(29);
+            if (fromDate.isAfter(toDate) || fromDate.plusDays(366).isBefore(toDate)) {
+                throw new IllegalArgumentException("from must be before to, at most 366 days apart");
+            }
+            response.put("success", true);
+            response.put("analytics", activityRollups.report(
+                    ActivityRollup.Granularity.valueOf(granularity.toUpperCase()), fromDate, toDate));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Mutation journal location and writer counters
+     */
+    @GetMapping("/journal")
+    public ResponseEntity<Map<String, Object>> getJournal() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("journal", journal.getMetrics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Session registry size, approximate heap use and eviction counters
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<Map<String, Object>> getSessions() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("sessions", sessionRegistry.getMetrics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * BCrypt cost in use and hash time / login throughput per cost factor (rows not
+     * measured at startup are flagged estimate=true)
+     */
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashing() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("passwordHashing", passwordEncoder.getCalibration());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Snapshot counters, duration and size of the last one, and the snapshots kept on disk
+     */
+    @GetMapping("/snapshots")
+    public ResponseEntity<Map<String, Object>> getSnapshots() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("success", true);
+            response.put("snapshots", snapshots.getMetrics());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Take an online snapshot of the H2 database now
+     */
+    @PostMapping("/snapshots")
+    public ResponseEntity<Map<String, Object>> takeSnapshot() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("success", true);
+            response.put("message", "Snapshot written");
+            response.put("snapshot", snapshots.snapshot());
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(409).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Snapshot failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
\ No newline at end of file
@@ -230,6 +230,39 @@ public class AuthController {
         }
     }
 
+    /**
+     * Delete account (todos are purged in the background)
+     */
+    @DeleteMapping("/account")
+    public ResponseEntity<Map<String, Object>> deleteAccount(
+            @RequestBody DeleteAccountRequest deleteAccountRequest,
+            HttpSession session) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            response.put("success", false);
+            response.put("message", "Not authenticated");
+            return ResponseEntity.status(401).body(response);
+        }
+
+        try {
+            authService.deleteAccount(currentUser.getId(), deleteAccountRequest.getPassword());
+            authService.logout(session);
+
+            response.put("success", true);
+            response.put("message", "Account deleted");
+
+            return ResponseEntity.accepted().body(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     /**
      * Create user response object (without sensitive data)
      */
@@ -370,4 +403,17 @@ public class AuthController {
             this.newPassword = newPassword;
         }
     }
+
+    public static class DeleteAccountRequest {
+        private String password;
+
+        // Getters and setters
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
 }
\ No newline at end of file
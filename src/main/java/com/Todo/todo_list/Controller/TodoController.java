@@ -1,11 +1,25 @@
 package com.Todo.todo_list.Controller;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.EnumSet;
+import java.util.Locale;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Set;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,12 +29,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.Todo.todo_list.Dto.ApiResponse;
+import com.Todo.todo_list.Dto.TodoFields;
+import com.Todo.todo_list.Dto.TodoNode;
 import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.TodoArchive;
 import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Facets.FacetCounts;
+import com.Todo.todo_list.Facets.FacetSelection;
+import com.Todo.todo_list.Limits.UserLimits;
 import com.Todo.todo_list.Service.TodoServices;
+import com.Todo.todo_list.Service.TodoQuery;
+import com.Todo.todo_list.Service.TodoExportService;
+import com.Todo.todo_list.Service.TodoImportService;
 import com.Todo.todo_list.Service.AuthService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
         "http://localhost:8080" }, allowCredentials = "true")
@@ -34,29 +61,317 @@ public class TodoController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private TodoExportService todoExportService;
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${todo.query.debug:false}")
+    private boolean queryDebug;
+
+    @Value("${todo.subtasks.max-depth:10}")
+    private int maxSubtaskDepth;
+
     /**
-     * Get all todos for the authenticated user
+     * Get the todos of the authenticated user, optionally filtered by status, priority,
+     * completed and a search term, sorted by createdAt or date (asc/desc) or by manual rank.
+     * fields=id,title,... returns (and selects) only those properties.
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllTodos(HttpSession session) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResponse> getAllTodos(@RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority, @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String q, @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean debug, HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        TodoQuery query;
+        try {
+            query = TodoQuery.of(status, priority, completed, q, sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid filter: " + e.getMessage()));
+        }
+
+        TodoFields todoFields;
+        try {
+            todoFields = TodoFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid fields: " + e.getMessage()));
+        }
+
+        try {
+            if (todoFields != null) {
+                List<Map<String, Object>> rows = todoServices.findByQuery(currentUser, query, todoFields);
+                return ResponseEntity.ok(ApiResponse.sparseTodos(rows, debug && queryDebug ? query.planHint() : null));
+            }
+            List<Todo> todos = todoServices.findByQuery(currentUser, query);
+            return ResponseEntity.ok(ApiResponse.todos(todos, debug && queryDebug ? query.planHint() : null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch todos"));
+        }
+    }
+
+    /**
+     * Get todos due in a date range (inclusive) for the authenticated user, earliest first
+     */
+    @GetMapping("/due")
+    public ResponseEntity<ApiResponse> getTodosDueBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > 366) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Date range must be ordered and at most one year"));
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.todos(todoServices.findDueBetween(currentUser, from, to)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch todos"));
+        }
+    }
+
+    /**
+     * Get open todos whose due date has passed for the authenticated user
+     */
+    @GetMapping("/overdue")
+    public ResponseEntity<ApiResponse> getOverdueTodos(HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.todos(todoServices.findOverdue(currentUser, LocalDate.now())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch todos"));
+        }
+    }
+
+    /**
+     * Get todos with a due date for the authenticated user, ordered by due date
+     */
+    @GetMapping("/by-due-date")
+    public ResponseEntity<ApiResponse> getTodosByDueDate(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size, HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        try {
+            List<Todo> todos = todoServices.findByUserOrderByDueDate(currentUser,
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200)));
+            return ResponseEntity.ok(ApiResponse.todoPage(todos, Math.max(page, 0)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch todos"));
+        }
+    }
 
+    /**
+     * Get all todos for the authenticated user, written straight to the response
+     * from a database cursor (for very large lists). The body and order are those of
+     * GET /api/todos without parameters (newest first); filters, sort and fields are
+     * not supported here.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllTodos(HttpSession session) {
         User currentUser = authService.getCurrentUser(session);
         if (currentUser == null) {
-            response.put("success", false);
-            response.put("message", "Not authenticated");
-            return ResponseEntity.status(401).body(response);
+            return streamError(401, "Not authenticated");
+        }
+
+        StreamingResponseBody body = out -> todoExportService.writeJsonList(currentUser, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // The usual JSON error body from an endpoint typed as StreamingResponseBody (Spring
+    // streams a ResponseEntity's body only when its declared type says so)
+    private ResponseEntity<StreamingResponseBody> streamError(int status, String message) {
+        ApiResponse error = ApiResponse.error(message);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(objectMapper.writeValueAsBytes(error)));
+    }
+
+    /**
+     * Get a todo with its subtasks as a tree, loaded in one query
+     */
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<ApiResponse> getTodoTree(@PathVariable Long id,
+            @RequestParam(required = false) Integer depth, HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
         }
 
         try {
-            List<Todo> todos = todoServices.findByUser(currentUser);
-            response.put("success", true);
-            response.put("todos", todos);
-            return ResponseEntity.ok(response);
+            int maxDepth = depth == null ? maxSubtaskDepth : Math.min(Math.max(depth, 0), maxSubtaskDepth);
+            TodoNode tree = todoServices.findSubtree(currentUser, id, maxDepth);
+            if (tree == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(ApiResponse.tree(tree, maxDepth));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to fetch todos");
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch todo tree"));
+        }
+    }
+
+    /**
+     * Facet counts for the authenticated user. Comma-separated values of one facet
+     * are OR'ed and facets are AND'ed, e.g. ?status=PENDING,IN_PROGRESS&priority=HIGH
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse> getFacetCounts(@RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) List<Boolean> completed, HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        FacetSelection selection;
+        try {
+            selection = new FacetSelection(
+                    parseEnums(Todo.Status.class, status),
+                    parseEnums(Todo.Priority.class, priority),
+                    completed == null ? Set.of() : Set.copyOf(completed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid facet value: " + e.getMessage()));
+        }
+
+        try {
+            FacetCounts counts = todoServices.countFacets(currentUser, selection);
+            return ResponseEntity.ok(ApiResponse.facets(counts));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to count todos"));
+        }
+    }
+
+    private static <E extends Enum<E>> Set<E> parseEnums(Class<E> type, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        Set<E> parsed = EnumSet.noneOf(type);
+        for (String value : values) {
+            parsed.add(Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT)));
+        }
+        return parsed;
+    }
+
+    /**
+     * Get archived (long completed) todos for the authenticated user, newest first
+     */
+    @GetMapping("/archived")
+    public ResponseEntity<ApiResponse> getArchivedTodos(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size, HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        try {
+            Page<TodoArchive> archived = todoServices.findArchivedByUser(currentUser,
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200)));
+            return ResponseEntity.ok(ApiResponse.archivedPage(archived));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch archived todos"));
+        }
+    }
+
+    /**
+     * Export all todos of the authenticated user as NDJSON or CSV, optionally gzipped.
+     * Rows are streamed from the database to the response without being collected.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip, HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return streamError(401, "Not authenticated");
+        }
+
+        TodoExportService.Format exportFormat;
+        try {
+            exportFormat = TodoExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return streamError(400, "Unsupported export format: " + format);
+        }
+
+        String fileName = "todos." + exportFormat.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == TodoExportService.Format.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                todoExportService.export(currentUser, exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                todoExportService.export(currentUser, exportFormat, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    /**
+     * Import todos for the authenticated user from an NDJSON or CSV request body
+     * (optionally gzip encoded). Rows are committed in chunks; invalid rows are
+     * skipped and reported. Not atomic: when an import fails part way, the chunks
+     * committed before stay, and the response gives lastCommittedRow to resend the
+     * body with as startAfterRow.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse> importTodos(@RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "0") long startAfterRow, HttpServletRequest request,
+            HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        TodoExportService.Format importFormat;
+        try {
+            if (format != null) {
+                importFormat = TodoExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            } else {
+                String contentType = request.getContentType();
+                importFormat = contentType != null && contentType.contains("csv")
+                        ? TodoExportService.Format.CSV
+                        : TodoExportService.Format.NDJSON;
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Unsupported import format: " + format));
+        }
+
+        try {
+            InputStream body = request.getInputStream();
+            if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+                body = new GZIPInputStream(body, 8192);
+            }
+            TodoImportService.ImportResult result = todoImportService.importTodos(currentUser, importFormat, body,
+                    Math.max(startAfterRow, 0));
+            return ResponseEntity.ok(ApiResponse.imported(result));
+        } catch (TodoImportService.ImportFailedException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.importFailed(e.getResult(), e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to import todos: " + e.getMessage()));
         }
     }
 
@@ -64,23 +379,28 @@ public class TodoController {
      * Create a new todo for the authenticated user
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createTodo(@RequestBody TodoRequest todoRequest, HttpSession session) {
-        Map<String, Object> response = new HashMap<>();
-
+    public ResponseEntity<ApiResponse> createTodo(@RequestBody TodoRequest todoRequest, HttpSession session) {
         User currentUser = authService.getCurrentUser(session);
         if (currentUser == null) {
-            response.put("success", false);
-            response.put("message", "Not authenticated");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
         }
 
         try {
             Todo todo = new Todo();
             todo.setTitle(todoRequest.getTitle());
             todo.setDescription(todoRequest.getDescription());
-            todo.setDate(todoRequest.getDate());
+            todo.setDateFromString(todoRequest.getDate());
             todo.setUser(currentUser);
 
+            // Subtask: the parent must belong to the same user
+            if (todoRequest.getParentId() != null) {
+                if (todoServices.findByIdAndUser(todoRequest.getParentId(), currentUser) == null) {
+                    return ResponseEntity.badRequest().body(ApiResponse.error("Parent todo not found"));
+                }
+                todo.setParentId(todoRequest.getParentId());
+            }
+            applyRecurrence(todo, todoRequest);
+
             // Set priority, default to MEDIUM if not provided
             if (todoRequest.getPriority() != null) {
                 todo.setPriority(Todo.Priority.valueOf(todoRequest.getPriority().toUpperCase()));
@@ -103,14 +423,11 @@ public class TodoController {
 
             Todo savedTodo = todoServices.save(todo);
 
-            response.put("success", true);
-            response.put("todo", savedTodo);
-            response.put("message", "Todo created successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.todo(savedTodo, "Todo created successfully"));
+        } catch (UserLimits.QuotaExceededException e) {
+            return ResponseEntity.status(403).body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to create todo: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to create todo: " + e.getMessage()));
         }
     }
 
@@ -118,30 +435,25 @@ public class TodoController {
      * Update a todo for the authenticated user
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateTodo(@PathVariable Long id, @RequestBody TodoRequest todoRequest,
+    public ResponseEntity<ApiResponse> updateTodo(@PathVariable Long id, @RequestBody TodoRequest todoRequest,
             HttpSession session) {
-        Map<String, Object> response = new HashMap<>();
-
         User currentUser = authService.getCurrentUser(session);
         if (currentUser == null) {
-            response.put("success", false);
-            response.put("message", "Not authenticated");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
         }
 
         try {
             Todo existingTodo = todoServices.findByIdAndUser(id, currentUser);
             if (existingTodo == null) {
-                response.put("success", false);
-                response.put("message", "Todo not found or access denied");
                 return ResponseEntity.notFound().build();
             }
 
             // Update fields
             existingTodo.setTitle(todoRequest.getTitle());
             existingTodo.setDescription(todoRequest.getDescription());
-            existingTodo.setDate(todoRequest.getDate());
+            existingTodo.setDateFromString(todoRequest.getDate());
             existingTodo.setCompleted(todoRequest.isCompleted());
+            applyRecurrence(existingTodo, todoRequest);
 
             if (todoRequest.getPriority() != null) {
                 existingTodo.setPriority(Todo.Priority.valueOf(todoRequest.getPriority().toUpperCase()));
@@ -160,14 +472,133 @@ public class TodoController {
 
             Todo updatedTodo = todoServices.save(existingTodo);
 
-            response.put("success", true);
-            response.put("todo", updatedTodo);
-            response.put("message", "Todo updated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.todo(updatedTodo, "Todo updated successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to update todo: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to update todo: " + e.getMessage()));
+        }
+    }
+
+    // Recurrence is only changed when the request names one ("NONE" or blank clears it)
+    private static void applyRecurrence(Todo todo, TodoRequest todoRequest) {
+        String recurrence = todoRequest.getRecurrence();
+        if (recurrence == null) {
+            return;
+        }
+        if (recurrence.isBlank() || "NONE".equalsIgnoreCase(recurrence)) {
+            todo.setRecurrence(null);
+            todo.setRecurrenceInterval(null);
+            todo.setRecurrenceUntil(null);
+            return;
+        }
+        if (todo.getDate() == null) {
+            throw new IllegalArgumentException("A recurring todo needs a due date");
+        }
+        if (todo.getRecurrenceSourceId() != null) {
+            throw new IllegalArgumentException("An occurrence cannot recur itself");
+        }
+        todo.setRecurrence(Todo.Recurrence.valueOf(recurrence.trim().toUpperCase(Locale.ROOT)));
+        todo.setRecurrenceInterval(todoRequest.getRecurrenceInterval());
+        todo.setRecurrenceUntil(Todo.parseDate(todoRequest.getRecurrenceUntil()));
+    }
+
+    /**
+     * Occurrences of the authenticated user's recurring todos in a date range (inclusive),
+     * expanded from their rules and merged with edited / completed occurrences
+     */
+    @GetMapping("/occurrences")
+    public ResponseEntity<ApiResponse> getOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > 366) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Date range must be ordered and at most one year"));
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.occurrences(todoServices.findOccurrences(currentUser, from, to)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to fetch occurrences"));
+        }
+    }
+
+    /**
+     * Edit or complete one occurrence of a recurring todo. The occurrence is stored
+     * as an exception row; only the fields present in the request are changed.
+     */
+    @PutMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<ApiResponse> updateOccurrence(@PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody TodoRequest todoRequest, HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        try {
+            Todo source = todoServices.findByIdAndUser(id, currentUser);
+            if (source == null || source.getRecurrence() == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Todo occurrence = todoServices.findOrCreateOccurrence(source, date);
+            if (todoRequest.getTitle() != null) {
+                occurrence.setTitle(todoRequest.getTitle());
+            }
+            if (todoRequest.getDescription() != null) {
+                occurrence.setDescription(todoRequest.getDescription());
+            }
+            if (todoRequest.getDate() != null) {
+                occurrence.setDateFromString(todoRequest.getDate());
+            }
+            if (todoRequest.getPriority() != null) {
+                occurrence.setPriority(Todo.Priority.valueOf(todoRequest.getPriority().toUpperCase()));
+            }
+            if (todoRequest.getStatus() != null) {
+                occurrence.setStatus(Todo.Status.valueOf(todoRequest.getStatus().toUpperCase()));
+                occurrence.setCompleted(occurrence.getStatus() == Todo.Status.COMPLETED);
+            }
+
+            Todo savedOccurrence = todoServices.save(occurrence);
+
+            return ResponseEntity.ok(ApiResponse.todo(savedOccurrence, "Occurrence updated successfully"));
+        } catch (UserLimits.QuotaExceededException e) {
+            return ResponseEntity.status(403).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to update occurrence: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Move a todo in the manual ordering, between afterId and beforeId (either may be
+     * omitted to place it right after / before a single neighbour)
+     */
+    @PutMapping("/{id}/move")
+    public ResponseEntity<ApiResponse> moveTodo(@PathVariable Long id, @RequestBody MoveRequest moveRequest,
+            HttpSession session) {
+        User currentUser = authService.getCurrentUser(session);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        try {
+            Todo existingTodo = todoServices.findByIdAndUser(id, currentUser);
+            if (existingTodo == null) {
+                return ResponseEntity.status(404).body(ApiResponse.error("Todo not found or access denied"));
+            }
+
+            String rank = todoServices.move(existingTodo, moveRequest.getAfterId(), moveRequest.getBeforeId());
+            return ResponseEntity.ok(ApiResponse.moved(id, rank));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to move todo: " + e.getMessage()));
         }
     }
 
@@ -175,33 +606,23 @@ public class TodoController {
      * Delete a todo for the authenticated user
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteTodo(@PathVariable Long id, HttpSession session) {
-        Map<String, Object> response = new HashMap<>();
-
+    public ResponseEntity<ApiResponse> deleteTodo(@PathVariable Long id, HttpSession session) {
         User currentUser = authService.getCurrentUser(session);
         if (currentUser == null) {
-            response.put("success", false);
-            response.put("message", "Not authenticated");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
         }
 
         try {
             Todo existingTodo = todoServices.findByIdAndUser(id, currentUser);
             if (existingTodo == null) {
-                response.put("success", false);
-                response.put("message", "Todo not found or access denied");
                 return ResponseEntity.notFound().build();
             }
 
-            todoServices.deleteById(id);
+            todoServices.delete(existingTodo);
 
-            response.put("success", true);
-            response.put("message", "Todo deleted successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Todo deleted successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to delete todo: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to delete todo: " + e.getMessage()));
         }
     }
 
@@ -209,35 +630,46 @@ public class TodoController {
      * Toggle todo completion status
      */
     @PutMapping("/{id}/toggle")
-    public ResponseEntity<Map<String, Object>> toggleTodoCompletion(@PathVariable Long id, HttpSession session) {
-        Map<String, Object> response = new HashMap<>();
-
+    public ResponseEntity<ApiResponse> toggleTodoCompletion(@PathVariable Long id, HttpSession session) {
         User currentUser = authService.getCurrentUser(session);
         if (currentUser == null) {
-            response.put("success", false);
-            response.put("message", "Not authenticated");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
         }
 
         try {
             Todo existingTodo = todoServices.findByIdAndUser(id, currentUser);
             if (existingTodo == null) {
-                response.put("success", false);
-                response.put("message", "Todo not found or access denied");
                 return ResponseEntity.notFound().build();
             }
 
             existingTodo.setCompleted(!existingTodo.isCompleted());
             Todo updatedTodo = todoServices.save(existingTodo);
 
-            response.put("success", true);
-            response.put("todo", updatedTodo);
-            response.put("message", "Todo status updated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.todo(updatedTodo, "Todo status updated successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to toggle todo: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to toggle todo: " + e.getMessage()));
+        }
+    }
+
+    // DTO for move requests: ids of the new neighbours
+    public static class MoveRequest {
+        private Long afterId;
+        private Long beforeId;
+
+        public Long getAfterId() {
+            return afterId;
+        }
+
+        public void setAfterId(Long afterId) {
+            this.afterId = afterId;
+        }
+
+        public Long getBeforeId() {
+            return beforeId;
+        }
+
+        public void setBeforeId(Long beforeId) {
+            this.beforeId = beforeId;
         }
     }
 
@@ -249,6 +681,10 @@ public class TodoController {
         private String priority;
         private String status;
         private boolean completed;
+        private Long parentId;
+        private String recurrence;
+        private Integer recurrenceInterval;
+        private String recurrenceUntil;
 
         // Getters and setters
         public String getTitle() {
@@ -298,6 +734,38 @@ public class TodoController {
         public void setCompleted(boolean completed) {
             this.completed = completed;
         }
+
+        public Long getParentId() {
+            return parentId;
+        }
+
+        public void setParentId(Long parentId) {
+            this.parentId = parentId;
+        }
+
+        public String getRecurrence() {
+            return recurrence;
+        }
+
+        public void setRecurrence(String recurrence) {
+            this.recurrence = recurrence;
+        }
+
+        public Integer getRecurrenceInterval() {
+            return recurrenceInterval;
+        }
+
+        public void setRecurrenceInterval(Integer recurrenceInterval) {
+            this.recurrenceInterval = recurrenceInterval;
+        }
+
+        public String getRecurrenceUntil() {
+            return recurrenceUntil;
+        }
+
+        public void setRecurrenceUntil(String recurrenceUntil) {
+            this.recurrenceUntil = recurrenceUntil;
+        }
     }
 
 }
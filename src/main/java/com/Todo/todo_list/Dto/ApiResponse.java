@@ -0,0 +1,134 @@
+package com.Todo.todo_list.Dto;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.TodoArchive;
+import com.Todo.todo_list.Facets.FacetCounts;
+import com.Todo.todo_list.Service.TodoImportService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Typed response bodies for the todo API. They keep the {success, message, ...}
+ * layout of the map-based responses, but give Jackson a fixed set of properties.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public sealed interface ApiResponse {
+
+    boolean success();
+
+    String message();
+
+    static Message ok(String message) {
+        return new Message(true, message);
+    }
+
+    static Message error(String message) {
+        return new Message(false, message);
+    }
+
+    static Single todo(Todo todo, String message) {
+        return new Single(true, message, TodoView.from(todo));
+    }
+
+    static TodoList todos(List<Todo> todos) {
+        return todos(todos, null);
+    }
+
+    static TodoList todos(List<Todo> todos, Map<String, Object> queryPlan) {
+        return new TodoList(true, null, todos.stream().map(TodoView::from).toList(), queryPlan);
+    }
+
+    // Todos narrowed to a sparse fieldset (see TodoFields)
+    static SparseTodoList sparseTodos(List<Map<String, Object>> todos, Map<String, Object> queryPlan) {
+        return new SparseTodoList(true, null, todos, queryPlan);
+    }
+
+    static TodoPage<TodoView> todoPage(List<Todo> todos, int page) {
+        return new TodoPage<>(true, null, todos.stream().map(TodoView::from).toList(), page, null, null);
+    }
+
+    static TodoPage<TodoArchive> archivedPage(Page<TodoArchive> archived) {
+        return new TodoPage<>(true, null, archived.getContent(), archived.getNumber(), archived.getTotalElements(),
+                archived.getTotalPages());
+    }
+
+    static Tree tree(TodoNode tree, int maxDepth) {
+        return new Tree(true, null, tree, maxDepth);
+    }
+
+    static Facets facets(FacetCounts counts) {
+        return new Facets(true, null, counts.total(), counts.matching(), counts.status(), counts.priority(),
+                counts.completed(), counts.source());
+    }
+
+    static Imported imported(TodoImportService.ImportResult result) {
+        return new Imported(result.failed() == 0, "Imported " + result.imported() + " todos", result.imported(),
+                result.failed(), result.chunks(), result.lastCommittedRow(), result.errors());
+    }
+
+    // The chunks before the failure stay imported, resuming starts after lastCommittedRow
+    static Imported importFailed(TodoImportService.ImportResult result, String cause) {
+        return new Imported(false, "Import stopped after " + result.imported() + " todos: " + cause
+                + " (rows up to " + result.lastCommittedRow() + " are committed, resend with startAfterRow="
+                + result.lastCommittedRow() + ")", result.imported(), result.failed(), result.chunks(),
+                result.lastCommittedRow(), result.errors());
+    }
+
+    static Occurrences occurrences(List<Occurrence> occurrences) {
+        return new Occurrences(true, null, occurrences);
+    }
+
+    static Moved moved(Long id, String rank) {
+        return new Moved(true, "Todo moved successfully", id, rank);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Message(boolean success, String message) implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Single(boolean success, String message, TodoView todo) implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record TodoList(boolean success, String message, List<TodoView> todos, Map<String, Object> queryPlan)
+            implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record SparseTodoList(boolean success, String message, List<Map<String, Object>> todos,
+            Map<String, Object> queryPlan) implements ApiResponse {
+    }
+
+    // One page of a list; the totals are only present when the page was counted
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record TodoPage<T>(boolean success, String message, List<T> todos, int page, Long totalElements,
+            Integer totalPages) implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Tree(boolean success, String message, TodoNode tree, int maxDepth) implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Facets(boolean success, String message, long total, long matching, Map<Todo.Status, Long> status,
+            Map<Todo.Priority, Long> priority, Map<Boolean, Long> completed, String source) implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Imported(boolean success, String message, long imported, long failed, int chunks,
+            long lastCommittedRow, List<TodoImportService.RowError> errors) implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Occurrences(boolean success, String message, List<Occurrence> occurrences) implements ApiResponse {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Moved(boolean success, String message, Long id, String rank) implements ApiResponse {
+    }
+}
@@ -0,0 +1,33 @@
+package com.Todo.todo_list.Dto;
+
+import java.time.LocalDate;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * One occurrence of a recurring todo in a date window. Virtual occurrences are
+ * generated from the rule (todoId is null); stored ones are exception rows for
+ * an occurrence that was edited or completed.
+ */
+public record Occurrence(
+        Long todoId,
+        Long sourceId,
+        LocalDate date,
+        String title,
+        String description,
+        Todo.Priority priority,
+        Todo.Status status,
+        boolean completed,
+        boolean virtual) {
+
+    public static Occurrence generated(Todo source, LocalDate date) {
+        return new Occurrence(null, source.getId(), date, source.getTitle(), source.getDescription(),
+                source.getPriority(), Todo.Status.PENDING, false, true);
+    }
+
+    public static Occurrence stored(Todo exception) {
+        return new Occurrence(exception.getId(), exception.getRecurrenceSourceId(), exception.getOccurrenceDate(),
+                exception.getTitle(), exception.getDescription(), exception.getPriority(), exception.getStatus(),
+                exception.isCompleted(), false);
+    }
+}
@@ -0,0 +1,126 @@
+package com.Todo.todo_list.Dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import jakarta.persistence.Tuple;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * Sparse fieldset of the todo list (?fields=id,title,status). Names are the
+ * {@link TodoView} properties; each maps to the entity attributes it is computed
+ * from, so only those columns are selected. id is always included.
+ */
+public record TodoFields(List<TodoFields.Field> fields) {
+
+    public enum Field {
+        ID("id"),
+        TITLE("title"),
+        DESCRIPTION("description"),
+        DATE("date"),
+        PRIORITY("priority"),
+        STATUS("status"),
+        COMPLETED("completed"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt"),
+        PRIORITY_AS_STRING("priorityAsString", row -> {
+            Object priority = row.get("priority");
+            return priority != null ? ((Todo.Priority) priority).name() : Todo.Priority.MEDIUM.name();
+        }, "priority"),
+        STATUS_AS_STRING("statusAsString", row -> {
+            Object status = row.get("status");
+            return status != null ? ((Todo.Status) status).name() : Todo.Status.PENDING.name();
+        }, "status"),
+        PARENT_ID("parentId"),
+        CHILD_COUNT("childCount"),
+        COMPLETED_CHILD_COUNT("completedChildCount"),
+        COMPLETION_PERCENT("completionPercent", row -> {
+            int children = (Integer) row.get("childCount");
+            return children > 0 ? (Integer) row.get("completedChildCount") * 100 / children : null;
+        }, "childCount", "completedChildCount"),
+        RANK("rank"),
+        RECURRENCE("recurrence"),
+        RECURRENCE_INTERVAL("recurrenceInterval", row -> {
+            Integer interval = (Integer) row.get("recurrenceInterval");
+            if (row.get("recurrence") == null) {
+                return null;
+            }
+            return interval != null && interval > 0 ? interval : 1;
+        }, "recurrence", "recurrenceInterval"),
+        RECURRENCE_UNTIL("recurrenceUntil"),
+        RECURRENCE_SOURCE_ID("recurrenceSourceId"),
+        OCCURRENCE_DATE("occurrenceDate");
+
+        private final String property;
+        private final Function<Tuple, Object> value;
+        private final List<String> attributes;
+
+        // Plain column: the entity attribute has the property's name
+        Field(String property) {
+            this(property, row -> row.get(property), property);
+        }
+
+        Field(String property, Function<Tuple, Object> value, String... attributes) {
+            this.property = property;
+            this.value = value;
+            this.attributes = List.of(attributes);
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        static Field fromProperty(String name) {
+            for (Field field : values()) {
+                if (field.property.equalsIgnoreCase(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field: " + name + " (allowed: "
+                    + String.join(", ", Arrays.stream(values()).map(f -> f.property).toList()) + ")");
+        }
+    }
+
+    /**
+     * Parse a comma separated list of property names; null (all fields) when blank.
+     * Throws IllegalArgumentException for unknown names.
+     */
+    public static TodoFields parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Set<Field> fields = new LinkedHashSet<>();
+        fields.add(Field.ID);
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) {
+                fields.add(Field.fromProperty(name.trim()));
+            }
+        }
+        return new TodoFields(new ArrayList<>(fields));
+    }
+
+    // Entity attributes to select, each once
+    public Set<String> attributes() {
+        Set<String> attributes = new LinkedHashSet<>();
+        for (Field field : fields) {
+            attributes.addAll(field.attributes);
+        }
+        return attributes;
+    }
+
+    // JSON object of one row, properties in the requested order
+    public Map<String, Object> toJson(Tuple row) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (Field field : fields) {
+            json.put(field.property, field.value.apply(row));
+        }
+        return json;
+    }
+}
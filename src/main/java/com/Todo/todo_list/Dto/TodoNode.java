@@ -0,0 +1,36 @@
+package com.Todo.todo_list.Dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * A todo with its loaded subtasks
+ */
+public record TodoNode(TodoView todo, List<TodoNode> children) {
+
+    /**
+     * Assemble the tree from a flat list ordered parents-first (as returned by
+     * TodoRepository.findSubtree); the first element is the root
+     */
+    public static TodoNode build(List<Todo> subtree) {
+        Map<Long, TodoNode> nodes = new HashMap<>(subtree.size() * 2);
+        TodoNode root = null;
+        for (Todo todo : subtree) {
+            TodoNode node = new TodoNode(TodoView.from(todo), new ArrayList<>());
+            nodes.put(todo.getId(), node);
+            if (root == null) {
+                root = node;
+            } else {
+                TodoNode parent = nodes.get(todo.getParentId());
+                if (parent != null) {
+                    parent.children().add(node);
+                }
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,44 @@
+package com.Todo.todo_list.Dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * JSON shape of a todo. Serialized instead of the entity so the lazy owner
+ * (and its password hash) never reaches the response and Jackson works from a
+ * fixed record layout rather than bean introspection of a Hibernate proxy.
+ */
+public record TodoView(
+        Long id,
+        String title,
+        String description,
+        LocalDate date,
+        Todo.Priority priority,
+        Todo.Status status,
+        boolean completed,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String priorityAsString,
+        String statusAsString,
+        Long parentId,
+        int childCount,
+        int completedChildCount,
+        Integer completionPercent,
+        String rank,
+        Todo.Recurrence recurrence,
+        Integer recurrenceInterval,
+        LocalDate recurrenceUntil,
+        Long recurrenceSourceId,
+        LocalDate occurrenceDate) {
+
+    public static TodoView from(Todo todo) {
+        return new TodoView(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDate(),
+                todo.getPriority(), todo.getStatus(), todo.isCompleted(), todo.getCreatedAt(),
+                todo.getUpdatedAt(), todo.getPriorityAsString(), todo.getStatusAsString(), todo.getParentId(),
+                todo.getChildCount(), todo.getCompletedChildCount(), todo.getCompletionPercent(), todo.getRank(),
+                todo.getRecurrence(), todo.getRecurrence() != null ? todo.getRecurrenceInterval() : null,
+                todo.getRecurrenceUntil(), todo.getRecurrenceSourceId(), todo.getOccurrenceDate());
+    }
+}
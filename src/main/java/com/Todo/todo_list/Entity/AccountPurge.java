@@ -0,0 +1,64 @@
+package com.Todo.todo_list.Entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Background deletion of a deactivated account. The row survives the user and
+ * records progress, so the purge resumes where it stopped after a restart.
+ */
+@Entity
+@Table(name = "account_purges")
+public class AccountPurge {
+
+    // Plain id, not a relation: the user row is deleted by the purge itself
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "todos_deleted")
+    private long todosDeleted;
+
+    @Column(name = "archived_deleted")
+    private long archivedDeleted;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public AccountPurge() {
+    }
+
+    public AccountPurge(Long userId) {
+        this.userId = userId;
+        this.requestedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public long getTodosDeleted() {
+        return todosDeleted;
+    }
+
+    public long getArchivedDeleted() {
+        return archivedDeleted;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.Todo.todo_list.Entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Global todo activity per hour or day, maintained incrementally by ActivityRollups.
+ * Admin analytics read these rows instead of scanning todos and users.
+ */
+@Entity
+@Table(name = "activity_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_activity_rollups_bucket", columnNames = { "granularity", "bucket_start" })
+})
+public class ActivityRollup {
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8, nullable = false)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "created_count")
+    private long created;
+
+    @Column(name = "completed_count")
+    private long completed;
+
+    @Column(name = "reopened_count")
+    private long reopened;
+
+    @Column(name = "deleted_count")
+    private long deleted;
+
+    // Constructors
+    public ActivityRollup() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getReopened() {
+        return reopened;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,43 @@
+package com.Todo.todo_list.Entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * One row per user and day with any login or todo write, so active users are a
+ * count over this table rather than a scan of users and todos
+ */
+@Entity
+@Table(name = "daily_active_users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_active_users", columnNames = { "activity_date", "user_id" })
+})
+public class DailyActiveUser {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate;
+
+    // Plain id: rows outlive purged accounts and only ever get counted
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Constructors
+    public DailyActiveUser() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getActivityDate() {
+        return activityDate;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
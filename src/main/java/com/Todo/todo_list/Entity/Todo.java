@@ -3,10 +3,30 @@ package com.Todo.todo_list.Entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        // Keyset walk of completed todos by the archiver
+        @Index(name = "idx_todos_status_id", columnList = "status, id"),
+        // Per-user due date range scans and due date ordering
+        @Index(name = "idx_todos_user_due_date", columnList = "user_id, due_date"),
+        // Per-user list in creation order (default sort of GET /api/todos)
+        @Index(name = "idx_todos_user_created", columnList = "user_id, created_at"),
+        // Children of a todo (recursive subtree query)
+        @Index(name = "idx_todos_parent", columnList = "parent_id"),
+        // Manual ordering of a user's list
+        @Index(name = "idx_todos_user_rank", columnList = "user_id, sort_rank"),
+        // Stored exceptions (edited / completed occurrences) of a recurring todo
+        @Index(name = "idx_todos_recurrence_source", columnList = "recurrence_source_id, occurrence_date"),
+        // Cross-user due date window loaded by the reminder scheduler
+        @Index(name = "idx_todos_due_date", columnList = "due_date, completed")
+})
 public class Todo {
 
     // Enums
@@ -18,6 +38,17 @@ public class Todo {
         PENDING, IN_PROGRESS, COMPLETED, CANCELLED
     }
 
+    public enum Recurrence {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    // Formats accepted for due dates besides ISO (yyyy-MM-dd), for legacy data
+    private static final List<DateTimeFormatter> LEGACY_DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy"));
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,7 +60,9 @@ public class Todo {
     @Size(max = 1000, message = "Description cannot exceed 1000 characters")
     private String description;
 
-    private String date;
+    // Due date (JSON property "date" for backward compatibility)
+    @Column(name = "due_date")
+    private LocalDate date;
 
     @Enumerated(EnumType.STRING)
     private Priority priority = Priority.MEDIUM;
@@ -50,13 +83,54 @@ public class Todo {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Parent todo for subtasks (plain id, trees are loaded with one recursive query)
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Roll-up of direct children, only changed by TodoRepository.adjustChildCounts.
+    // Not updatable, so saving a todo never writes back counts loaded earlier.
+    @ColumnDefault("0")
+    @Column(name = "child_count", updatable = false)
+    private int childCount;
+
+    @ColumnDefault("0")
+    @Column(name = "completed_child_count", updatable = false)
+    private int completedChildCount;
+
+    // Position in the user's manual ordering (base-36 fractional key, see FractionalRank).
+    // Set on insert, then only by TodoRepository.updateRank and RankRebalancer.
+    @Column(name = "sort_rank", length = 64, updatable = false)
+    private String rank;
+
+    // Recurrence rule: repeats every recurrenceInterval days / weeks / months from the
+    // due date until recurrenceUntil (inclusive, open-ended when null)
+    @Enumerated(EnumType.STRING)
+    private Recurrence recurrence;
+
+    @Column(name = "recurrence_interval")
+    private Integer recurrenceInterval;
+
+    @Column(name = "recurrence_until")
+    private LocalDate recurrenceUntil;
+
+    // Set on an exception row: the recurring todo and the occurrence it replaces
+    @Column(name = "recurrence_source_id")
+    private Long recurrenceSourceId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    // Completion state as loaded, to detect flips that change the parent's roll-up
+    @Transient
+    private boolean completedAtLoad;
+
     // Constructors
     public Todo() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
 
-    public Todo(String title, String description, String date, User user) {
+    public Todo(String title, String description, LocalDate date, User user) {
         this.title = title;
         this.description = description;
         this.date = date;
@@ -72,7 +146,7 @@ public class Todo {
         this.title = title;
         this.description = description;
         this.completed = completed;
-        this.date = date;
+        this.date = parseDate(date);
         this.priority = Priority.valueOf(priority.toUpperCase());
         this.status = Status.valueOf(status.toUpperCase());
         this.createdAt = LocalDateTime.now();
@@ -93,6 +167,11 @@ public class Todo {
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        completedAtLoad = completed;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -126,14 +205,45 @@ public class Todo {
         this.completed = completed;
     }
 
-    public String getDate() {
+    public LocalDate getDate() {
         return date;
     }
 
-    public void setDate(String date) {
+    public void setDate(LocalDate date) {
         this.date = date;
     }
 
+    // Helper method for backward compatibility
+    public void setDateFromString(String date) {
+        this.date = parseDate(date);
+    }
+
+    /**
+     * Parse a due date: ISO (yyyy-MM-dd), ISO date-time, or one of the legacy formats.
+     * Blank values give null; anything else unparseable is an IllegalArgumentException.
+     */
+    public static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        if (text.length() > 10 && text.charAt(10) == 'T') {
+            text = text.substring(0, 10);
+        }
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            for (DateTimeFormatter format : LEGACY_DATE_FORMATS) {
+                try {
+                    return LocalDate.parse(text, format);
+                } catch (DateTimeParseException ignored) {
+                    // try the next format
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid date: " + value);
+    }
+
     public Priority getPriority() {
         return priority;
     }
@@ -192,6 +302,83 @@ public class Todo {
         this.user = user;
     }
 
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public int getChildCount() {
+        return childCount;
+    }
+
+    public int getCompletedChildCount() {
+        return completedChildCount;
+    }
+
+    // Percent of direct children completed, null for a todo without children
+    public Integer getCompletionPercent() {
+        return childCount > 0 ? completedChildCount * 100 / childCount : null;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public int getRecurrenceInterval() {
+        return recurrenceInterval != null && recurrenceInterval > 0 ? recurrenceInterval : 1;
+    }
+
+    public void setRecurrenceInterval(Integer recurrenceInterval) {
+        this.recurrenceInterval = recurrenceInterval;
+    }
+
+    public LocalDate getRecurrenceUntil() {
+        return recurrenceUntil;
+    }
+
+    public void setRecurrenceUntil(LocalDate recurrenceUntil) {
+        this.recurrenceUntil = recurrenceUntil;
+    }
+
+    public Long getRecurrenceSourceId() {
+        return recurrenceSourceId;
+    }
+
+    public void setRecurrenceSourceId(Long recurrenceSourceId) {
+        this.recurrenceSourceId = recurrenceSourceId;
+    }
+
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+
+    public void setOccurrenceDate(LocalDate occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+
+    public boolean isCompletedAtLoad() {
+        return completedAtLoad;
+    }
+
+    public void setCompletedAtLoad(boolean completedAtLoad) {
+        this.completedAtLoad = completedAtLoad;
+    }
+
     @Override
     public String toString() {
         return "Todo{" +
@@ -0,0 +1,108 @@
+package com.Todo.todo_list.Entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Completed todo moved out of the hot "todos" table by the archiver.
+ * Keeps the original id and owner id; it is read-only for clients.
+ */
+@Entity
+@Table(name = "todos_archive", indexes = {
+        @Index(name = "idx_todos_archive_user_updated", columnList = "user_id, updated_at")
+})
+public class TodoArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(length = 200)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(name = "due_date")
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    private Todo.Priority priority;
+
+    private boolean completed;
+
+    @Enumerated(EnumType.STRING)
+    private Todo.Status status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    public TodoArchive() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Todo.Priority getPriority() {
+        return priority;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Todo.Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoArchive{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", title='" + title + '\'' +
+                ", status=" + status +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
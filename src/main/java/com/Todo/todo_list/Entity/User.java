@@ -45,8 +45,8 @@ public class User {
     @Column(name = "is_active")
     private boolean isActive = true;
 
-    // One user can have many todos
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // One user can have many todos (no cascade: accounts are removed by AccountPurger in chunks)
+    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     @com.fasterxml.jackson.annotation.JsonIgnore
     private List<Todo> todos;
 
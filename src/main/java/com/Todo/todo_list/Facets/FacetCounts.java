@@ -0,0 +1,18 @@
+package com.Todo.todo_list.Facets;
+
+import java.util.Map;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * Result of a facet query: totals plus, for every facet value, how many of the
+ * matching todos carry it
+ */
+public record FacetCounts(
+        long total,
+        long matching,
+        Map<Todo.Status, Long> status,
+        Map<Todo.Priority, Long> priority,
+        Map<Boolean, Long> completed,
+        String source) {
+}
@@ -0,0 +1,9 @@
+package com.Todo.todo_list.Facets;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * The facet columns of one todo, as loaded when a user's index is built
+ */
+public record FacetRow(Long id, Todo.Status status, Todo.Priority priority, boolean completed) {
+}
@@ -0,0 +1,14 @@
+package com.Todo.todo_list.Facets;
+
+import java.util.Set;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * Selected facet values: values of one facet are OR'ed, facets are AND'ed.
+ * An empty set means the facet is not filtered.
+ */
+public record FacetSelection(Set<Todo.Status> statuses, Set<Todo.Priority> priorities, Set<Boolean> completed) {
+
+    public static final FacetSelection ALL = new FacetSelection(Set.of(), Set.of(), Set.of());
+}
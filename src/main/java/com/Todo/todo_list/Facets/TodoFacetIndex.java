@@ -0,0 +1,312 @@
+package com.Todo.todo_list.Facets;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Repository.TodoRepository;
+
+/**
+ * Per-user compressed bitmaps of todo ids for each status, priority and completion
+ * state. A user's bitmaps are built with one query on first use and then kept in
+ * sync by the TodoServices mutation hooks (applied after commit), so facet counts
+ * and AND/OR facet queries are answered from memory. Users are kept in an
+ * access-ordered map and the least recently used are dropped above todo.facets.max-users.
+ */
+@Component
+public class TodoFacetIndex {
+
+    private static final int STRIPES = 64;
+
+    private final TodoRepository todoRepository;
+    private final int maxUsers;
+    private final boolean enabled;
+
+    // Guarded by itself; access order gives LRU eviction
+    private final LinkedHashMap<Long, UserFacets> cache;
+    // Mutation counters per user stripe (guarded by cache): a load is only cached
+    // if no mutation for its stripe happened while it was reading
+    private final long[] versions = new long[STRIPES];
+
+    private long hits;
+    private long loads;
+    private long evictions;
+
+    public TodoFacetIndex(TodoRepository todoRepository,
+            @Value("${todo.facets.enabled:true}") boolean enabled,
+            @Value("${todo.facets.max-users:10000}") int maxUsers) {
+        this.todoRepository = todoRepository;
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserFacets> eldest) {
+                if (size() > TodoFacetIndex.this.maxUsers) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Count the user's todos matching the selection, and per facet value within that match
+     */
+    public FacetCounts query(Long userId, FacetSelection selection) {
+        UserFacets facets = getOrLoad(userId);
+        synchronized (facets) {
+            return facets.count(selection);
+        }
+    }
+
+    // Mutation hooks, called from TodoServices inside its transaction and applied after it commits
+
+    public void onTodoSaved(Todo todo) {
+        if (!enabled || todo.getUser() == null) {
+            return;
+        }
+        Long userId = todo.getUser().getId();
+        FacetRow row = new FacetRow(todo.getId(), todo.getStatus(), todo.getPriority(), todo.isCompleted());
+        afterCommit(() -> apply(userId, facets -> {
+            facets.remove(row.id());
+            facets.add(row);
+        }));
+    }
+
+    public void onTodoDeleted(Long userId, Long todoId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> apply(userId, facets -> facets.remove(todoId)));
+    }
+
+    // Bulk delete inside a TodoServices transaction: drop the user's facets once it commits
+    public void onTodosRemoved(Long userId) {
+        if (enabled) {
+            afterCommit(() -> invalidate(userId));
+        }
+    }
+
+    // Bulk changes that bypass TodoServices (import, archiver)
+    public void invalidate(Long userId) {
+        synchronized (cache) {
+            versions[stripe(userId)]++;
+            cache.remove(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            for (int i = 0; i < STRIPES; i++) {
+                versions[i]++;
+            }
+            cache.clear();
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        List<UserFacets> cached;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        synchronized (cache) {
+            cached = new ArrayList<>(cache.values());
+            metrics.put("enabled", enabled);
+            metrics.put("cachedUsers", cache.size());
+            metrics.put("maxUsers", maxUsers);
+            metrics.put("hits", hits);
+            metrics.put("loads", loads);
+            metrics.put("evictions", evictions);
+        }
+        long bytes = 0;
+        for (UserFacets facets : cached) {
+            synchronized (facets) {
+                bytes += facets.sizeInBytes();
+            }
+        }
+        metrics.put("bitmapBytes", bytes);
+        return metrics;
+    }
+
+    private UserFacets getOrLoad(Long userId) {
+        long version;
+        synchronized (cache) {
+            UserFacets cached = cache.get(userId);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            version = versions[stripe(userId)];
+        }
+
+        UserFacets loaded = new UserFacets();
+        for (FacetRow row : todoRepository.findFacetRowsByUserId(userId)) {
+            loaded.add(row);
+        }
+        loaded.optimize();
+
+        synchronized (cache) {
+            loads++;
+            if (versions[stripe(userId)] == version) {
+                UserFacets existing = cache.putIfAbsent(userId, loaded);
+                return existing != null ? existing : loaded;
+            }
+        }
+        // A concurrent mutation may be missing from the cache's view; still a valid snapshot for this caller
+        return loaded;
+    }
+
+    private void apply(Long userId, Consumer<UserFacets> mutation) {
+        UserFacets facets;
+        synchronized (cache) {
+            versions[stripe(userId)]++;
+            facets = cache.get(userId);
+        }
+        if (facets != null) {
+            synchronized (facets) {
+                mutation.accept(facets);
+            }
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Bitmaps of one user, guarded by the instance lock
+     */
+    private static final class UserFacets {
+        private final Roaring64Bitmap all = new Roaring64Bitmap();
+        private final Map<Todo.Status, Roaring64Bitmap> byStatus = new EnumMap<>(Todo.Status.class);
+        private final Map<Todo.Priority, Roaring64Bitmap> byPriority = new EnumMap<>(Todo.Priority.class);
+        private final Roaring64Bitmap completed = new Roaring64Bitmap();
+        private final Roaring64Bitmap open = new Roaring64Bitmap();
+
+        UserFacets() {
+            for (Todo.Status status : Todo.Status.values()) {
+                byStatus.put(status, new Roaring64Bitmap());
+            }
+            for (Todo.Priority priority : Todo.Priority.values()) {
+                byPriority.put(priority, new Roaring64Bitmap());
+            }
+        }
+
+        void add(FacetRow row) {
+            long id = row.id();
+            all.addLong(id);
+            if (row.status() != null) {
+                byStatus.get(row.status()).addLong(id);
+            }
+            if (row.priority() != null) {
+                byPriority.get(row.priority()).addLong(id);
+            }
+            (row.completed() ? completed : open).addLong(id);
+        }
+
+        void remove(long id) {
+            if (!all.contains(id)) {
+                return;
+            }
+            all.removeLong(id);
+            byStatus.values().forEach(bitmap -> bitmap.removeLong(id));
+            byPriority.values().forEach(bitmap -> bitmap.removeLong(id));
+            completed.removeLong(id);
+            open.removeLong(id);
+        }
+
+        void optimize() {
+            all.runOptimize();
+            byStatus.values().forEach(Roaring64Bitmap::runOptimize);
+            byPriority.values().forEach(Roaring64Bitmap::runOptimize);
+            completed.runOptimize();
+            open.runOptimize();
+        }
+
+        long sizeInBytes() {
+            long bytes = all.getLongSizeInBytes() + completed.getLongSizeInBytes() + open.getLongSizeInBytes();
+            for (Roaring64Bitmap bitmap : byStatus.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (Roaring64Bitmap bitmap : byPriority.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        }
+
+        Roaring64Bitmap match(FacetSelection selection) {
+            Roaring64Bitmap result = all.clone();
+            if (!selection.statuses().isEmpty()) {
+                result.and(union(byStatus, selection.statuses()));
+            }
+            if (!selection.priorities().isEmpty()) {
+                result.and(union(byPriority, selection.priorities()));
+            }
+            if (!selection.completed().isEmpty()) {
+                Roaring64Bitmap state = new Roaring64Bitmap();
+                if (selection.completed().contains(Boolean.TRUE)) {
+                    state.or(completed);
+                }
+                if (selection.completed().contains(Boolean.FALSE)) {
+                    state.or(open);
+                }
+                result.and(state);
+            }
+            return result;
+        }
+
+        FacetCounts count(FacetSelection selection) {
+            Roaring64Bitmap matching = match(selection);
+            Map<Todo.Status, Long> statusCounts = new EnumMap<>(Todo.Status.class);
+            byStatus.forEach((status, bitmap) -> statusCounts.put(status, andCardinality(matching, bitmap)));
+            Map<Todo.Priority, Long> priorityCounts = new EnumMap<>(Todo.Priority.class);
+            byPriority.forEach((priority, bitmap) -> priorityCounts.put(priority, andCardinality(matching, bitmap)));
+            Map<Boolean, Long> completedCounts = new LinkedHashMap<>();
+            completedCounts.put(Boolean.TRUE, andCardinality(matching, completed));
+            completedCounts.put(Boolean.FALSE, andCardinality(matching, open));
+            return new FacetCounts(all.getLongCardinality(), matching.getLongCardinality(), statusCounts,
+                    priorityCounts, completedCounts, "index");
+        }
+
+        private static <E extends Enum<E>> Roaring64Bitmap union(Map<E, Roaring64Bitmap> bitmaps, Set<E> values) {
+            Roaring64Bitmap union = new Roaring64Bitmap();
+            for (E value : values) {
+                union.or(bitmaps.get(value));
+            }
+            return union;
+        }
+
+        private static long andCardinality(Roaring64Bitmap left, Roaring64Bitmap right) {
+            Roaring64Bitmap intersection = left.clone();
+            intersection.and(right);
+            return intersection.getLongCardinality();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.Todo.todo_list.Idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.Todo.todo_list.Entity.IdempotencyRecord;
+import com.Todo.todo_list.Repository.IdempotencyRecordRepository;
+
+/**
+ * Responses of Idempotency-Key requests, kept for todo.idempotency.ttl-minutes.
+ * The first request for a key claims it and executes; concurrent duplicates wait on
+ * the owner's future and replay its response. Keys are spread over lock stripes, each
+ * an insertion-ordered map whose lock is held only to look up or change entries, never
+ * while waiting. Together the stripes hold at most todo.idempotency.max-entries keys:
+ * a full stripe evicts its oldest completed keys first. With todo.idempotency.persistent the
+ * claim and response are also written to the idempotency_keys table, which makes
+ * keys survive restarts and deduplicates across instances.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    // Larger responses are kept in memory only
+    private static final int MAX_PERSISTED_BODY = 64 * 1024;
+
+    private static final int STRIPES = 16;
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * Outcome of claiming a key
+     */
+    public sealed interface Claim permits Owner, Replay, Mismatch, InProgress {
+    }
+
+    // The caller executes the request and must complete() or release() the claim
+    public record Owner(Entry entry) implements Claim {
+    }
+
+    public record Replay(StoredResponse response) implements Claim {
+    }
+
+    // The key was used for a different request
+    public record Mismatch() implements Claim {
+    }
+
+    // Another instance (or a slow owner) is still executing the request
+    public record InProgress() implements Claim {
+    }
+
+    static final class Entry {
+        final String requestHash;
+        final long expiresAtNanos;
+        final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        Entry(String requestHash, long expiresAtNanos) {
+            this.requestHash = requestHash;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+
+    private final IdempotencyRecordRepository recordRepository;
+    // Each guarded by its own monitor, keys in claim order (oldest first)
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    @Value("${todo.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${todo.idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${todo.idempotency.wait-ms:10000}")
+    private long waitMillis;
+
+    @Value("${todo.idempotency.persistent:false}")
+    private boolean persistent;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository) {
+        this.recordRepository = recordRepository;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public Claim claim(String key, String requestHash) {
+        Stripe stripe = stripeFor(key);
+        while (true) {
+            long now = System.nanoTime();
+            Entry mine = new Entry(requestHash, now + TimeUnit.MINUTES.toNanos(ttlMinutes));
+            Entry existing;
+            synchronized (stripe) {
+                existing = stripe.entries.get(key);
+                if (existing != null && existing.isExpired(now)) {
+                    // Claimed again: removing first puts the key back at the young end
+                    stripe.entries.remove(key);
+                    existing = null;
+                }
+                if (existing == null) {
+                    stripe.entries.put(key, mine);
+                    trim(stripe);
+                }
+            }
+
+            if (existing == null) {
+                if (!persistent) {
+                    return new Owner(mine);
+                }
+                Claim claim = claimInDatabase(key, requestHash);
+                if (claim instanceof Replay replay) {
+                    mine.response.complete(replay.response());
+                } else if (!(claim instanceof Owner)) {
+                    remove(key, mine);
+                    mine.response.complete(null);
+                }
+                return claim instanceof Owner ? new Owner(mine) : claim;
+            }
+
+            if (!existing.requestHash.equals(requestHash)) {
+                return new Mismatch();
+            }
+            try {
+                StoredResponse response = existing.response.get(waitMillis, TimeUnit.MILLISECONDS);
+                if (response != null) {
+                    return new Replay(response);
+                }
+                // The owner failed and released the key: claim it again
+            } catch (TimeoutException e) {
+                return new InProgress();
+            } catch (ExecutionException e) {
+                return new InProgress();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new InProgress();
+            }
+        }
+    }
+
+    public void complete(String key, Owner owner, StoredResponse response) {
+        owner.entry().response.complete(response);
+        if (!persistent) {
+            return;
+        }
+        try {
+            if (response.body().length <= MAX_PERSISTED_BODY) {
+                recordRepository.complete(key, response.status(), response.contentType(),
+                        new String(response.body(), StandardCharsets.UTF_8));
+            } else {
+                recordRepository.deleteById(key);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not persist idempotent response for {}", key, e);
+        }
+    }
+
+    // The request failed (5xx or exception): forget the key so a retry executes again
+    public void release(String key, Owner owner) {
+        remove(key, owner.entry());
+        owner.entry().response.complete(null);
+        if (persistent) {
+            try {
+                recordRepository.deleteById(key);
+            } catch (DataAccessException e) {
+                log.warn("Could not release idempotency key {}", key, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.entries.values().removeIf(entry -> entry.isExpired(now) && entry.response.isDone());
+            }
+        }
+        if (persistent) {
+            recordRepository.deleteExpired(LocalDateTime.now());
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private void remove(String key, Entry entry) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.entries.remove(key, entry);
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private Claim claimInDatabase(String key, String requestHash) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                recordRepository.saveAndFlush(
+                        new IdempotencyRecord(key, requestHash, LocalDateTime.now().plusMinutes(ttlMinutes)));
+                return new Owner(null);
+            } catch (DataIntegrityViolationException e) {
+                Optional<IdempotencyRecord> stored = recordRepository.findById(key);
+                if (stored.isEmpty()) {
+                    continue;
+                }
+                IdempotencyRecord record = stored.get();
+                if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+                    recordRepository.deleteById(key);
+                    continue;
+                }
+                if (!record.getRequestHash().equals(requestHash)) {
+                    return new Mismatch();
+                }
+                if (!record.isCompleted()) {
+                    return new InProgress();
+                }
+                byte[] body = record.getBody() != null ? record.getBody().getBytes(StandardCharsets.UTF_8)
+                        : new byte[0];
+                return new Replay(new StoredResponse(record.getStatus(), record.getContentType(), body));
+            }
+        }
+        return new InProgress();
+    }
+
+    // Caller holds the stripe's monitor. Evict the oldest completed keys over the
+    // stripe's share of max-entries; keys still executing are kept
+    private void trim(Stripe stripe) {
+        int capacity = Math.max(1, maxEntries / STRIPES);
+        Iterator<Entry> oldest = stripe.entries.values().iterator();
+        while (stripe.entries.size() > capacity && oldest.hasNext()) {
+            if (oldest.next().response.isDone()) {
+                oldest.remove();
+            }
+        }
+    }
+
+    private static final class Stripe {
+        final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    }
+}
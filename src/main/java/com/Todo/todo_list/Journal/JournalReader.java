@@ -0,0 +1,47 @@
+package com.Todo.todo_list.Journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads journal segments back in write order, for audits and replay.
+ * Also runnable on its own to print a journal:
+ * java -cp app.jar com.Todo.todo_list.Journal.JournalReader ./data/journal [userId]
+ */
+public final class JournalReader {
+
+    private JournalReader() {
+    }
+
+    /**
+     * Pass every record of the directory to the consumer, returns the number of records
+     */
+    public static long replay(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        long[] count = new long[1];
+        for (Path segment : JournalSegments.list(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                JournalSegments.scan(mapped, record -> {
+                    count[0]++;
+                    consumer.accept(record);
+                });
+            }
+        }
+        return count[0];
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "./data/journal");
+        Long userId = args.length > 1 ? Long.valueOf(args[1]) : null;
+        long count = replay(directory, record -> {
+            if (userId == null || record.userId() == userId) {
+                System.out.println(record);
+            }
+        });
+        System.err.println(count + " records in " + directory.toAbsolutePath());
+    }
+}
@@ -0,0 +1,81 @@
+package com.Todo.todo_list.Journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * One todo mutation. Encoded as a fixed 29-byte header followed by the UTF-8 title:
+ * op, timestamp, user id, todo id, status, priority, completed, title length.
+ * PURGE records carry todo id 0 and stand for all todos of the user.
+ */
+public record JournalRecord(Op op, long timestamp, long userId, long todoId, Todo.Status status,
+        Todo.Priority priority, boolean completed, String title) {
+
+    public enum Op {
+        CREATE, UPDATE, DELETE, PURGE
+    }
+
+    static final int HEADER_BYTES = 1 + 8 + 8 + 8 + 1 + 1 + 1 + 2;
+    private static final int MAX_TITLE_BYTES = 0xFFFF;
+
+    public static JournalRecord of(Op op, Todo todo) {
+        return new JournalRecord(op, System.currentTimeMillis(),
+                todo.getUser() != null ? todo.getUser().getId() : 0, todo.getId(),
+                todo.getStatus(), todo.getPriority(), todo.isCompleted(), todo.getTitle());
+    }
+
+    public static JournalRecord purge(Long userId) {
+        return new JournalRecord(Op.PURGE, System.currentTimeMillis(), userId, 0, null, null, false, null);
+    }
+
+    byte[] titleBytes() {
+        if (title == null) {
+            return new byte[0];
+        }
+        byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_TITLE_BYTES) {
+            return bytes;
+        }
+        byte[] truncated = new byte[MAX_TITLE_BYTES];
+        System.arraycopy(bytes, 0, truncated, 0, MAX_TITLE_BYTES);
+        return truncated;
+    }
+
+    void encode(ByteBuffer buffer, byte[] titleBytes) {
+        buffer.put((byte) op.ordinal());
+        buffer.putLong(timestamp);
+        buffer.putLong(userId);
+        buffer.putLong(todoId);
+        buffer.put(status != null ? (byte) status.ordinal() : -1);
+        buffer.put(priority != null ? (byte) priority.ordinal() : -1);
+        buffer.put(completed ? (byte) 1 : 0);
+        buffer.putShort((short) titleBytes.length);
+        buffer.put(titleBytes);
+    }
+
+    static JournalRecord decode(ByteBuffer buffer) {
+        Op op = Op.values()[buffer.get()];
+        long timestamp = buffer.getLong();
+        long userId = buffer.getLong();
+        long todoId = buffer.getLong();
+        byte status = buffer.get();
+        byte priority = buffer.get();
+        boolean completed = buffer.get() != 0;
+        byte[] title = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(title);
+        return new JournalRecord(op, timestamp, userId, todoId,
+                status >= 0 ? Todo.Status.values()[status] : null,
+                priority >= 0 ? Todo.Priority.values()[priority] : null,
+                completed, title.length > 0 ? new String(title, StandardCharsets.UTF_8) : null);
+    }
+
+    @Override
+    public String toString() {
+        return Instant.ofEpochMilli(timestamp) + " " + op + " user=" + userId + " todo=" + todoId
+                + " status=" + status + " priority=" + priority + " completed=" + completed
+                + (title != null ? " title=\"" + title + "\"" : "");
+    }
+}
@@ -0,0 +1,82 @@
+package com.Todo.todo_list.Journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of journal segment files. A segment is a preallocated, zero-filled file
+ * named journal-NNNNNNNNNN.seg holding frames of [payload length][CRC32C][payload].
+ * A zero length marks the end of the written part; a frame whose checksum does not
+ * match (torn write before a crash) is treated the same way.
+ */
+final class JournalSegments {
+
+    static final int FRAME_HEADER_BYTES = 8;
+
+    private static final Pattern NAME = Pattern.compile("journal-(\\d{10})\\.seg");
+
+    private JournalSegments() {
+    }
+
+    static Path path(Path directory, long index) {
+        return directory.resolve(String.format("journal-%010d.seg", index));
+    }
+
+    static long index(Path segment) {
+        Matcher matcher = NAME.matcher(segment.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * Segment files of the directory, oldest first
+     */
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> index(file) >= 0)
+                    .sorted((a, b) -> Long.compare(index(a), index(b)))
+                    .toList();
+        }
+    }
+
+    static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Decode the frames of a segment from its start, returns the position after the last valid frame
+     */
+    static int scan(ByteBuffer segment, Consumer<JournalRecord> consumer) {
+        ByteBuffer buffer = segment.duplicate();
+        buffer.position(0);
+        while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int crc = buffer.getInt();
+            if (length < JournalRecord.HEADER_BYTES || length > buffer.remaining()) {
+                return start;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            if (checksum(payload) != crc) {
+                return start;
+            }
+            if (consumer != null) {
+                consumer.accept(JournalRecord.decode(payload));
+            }
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+}
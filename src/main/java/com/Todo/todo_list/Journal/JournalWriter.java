@@ -0,0 +1,116 @@
+package com.Todo.todo_list.Journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends records to memory-mapped segments. Not thread-safe: owned by the
+ * journal's writer thread. On open it continues after the last valid frame of
+ * the newest segment; a segment without room for the next frame is forced to
+ * disk and a new one is started.
+ */
+class JournalWriter implements Closeable {
+
+    private final Path directory;
+    private final int segmentBytes;
+    // Reused for encoding, records are small and bounded by the title length
+    private final ByteBuffer scratch = ByteBuffer.allocate(JournalSegments.FRAME_HEADER_BYTES
+            + JournalRecord.HEADER_BYTES + 0xFFFF);
+
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private boolean dirty;
+
+    JournalWriter(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        List<Path> segments = JournalSegments.list(directory);
+        if (segments.isEmpty()) {
+            open(1);
+        } else {
+            open(JournalSegments.index(segments.get(segments.size() - 1)));
+            mapped.position(JournalSegments.scan(mapped, null));
+            clearTail();
+        }
+    }
+
+    // Zero what follows a torn frame, so frames written after it can never resurface behind new ones
+    private void clearTail() {
+        int position = mapped.position();
+        if (mapped.remaining() >= Integer.BYTES && mapped.getInt(position) != 0) {
+            for (int i = position; i < mapped.limit(); i++) {
+                mapped.put(i, (byte) 0);
+            }
+            dirty = true;
+            force();
+        }
+    }
+
+    void append(JournalRecord record) throws IOException {
+        byte[] title = record.titleBytes();
+        int length = JournalRecord.HEADER_BYTES + title.length;
+
+        scratch.clear();
+        scratch.position(JournalSegments.FRAME_HEADER_BYTES);
+        record.encode(scratch, title);
+        ByteBuffer payload = scratch.slice(JournalSegments.FRAME_HEADER_BYTES, length);
+        scratch.putInt(4, JournalSegments.checksum(payload));
+        // Length goes in last, readers stop at a zero length
+        scratch.putInt(0, 0);
+        scratch.limit(JournalSegments.FRAME_HEADER_BYTES + length).position(0);
+
+        if (mapped.remaining() < scratch.remaining()) {
+            roll();
+        }
+        int start = mapped.position();
+        mapped.put(scratch);
+        mapped.putInt(start, length);
+        dirty = true;
+    }
+
+    void force() {
+        if (dirty) {
+            mapped.force();
+            dirty = false;
+        }
+    }
+
+    long getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    int getPosition() {
+        return mapped.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void roll() throws IOException {
+        dirty = true;
+        force();
+        channel.close();
+        open(segmentIndex + 1);
+    }
+
+    private void open(long index) throws IOException {
+        segmentIndex = index;
+        channel = FileChannel.open(JournalSegments.path(directory, index), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Mapping past the end grows the file, zero-filled
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, channel.size()));
+        dirty = false;
+    }
+}
@@ -0,0 +1,67 @@
+package com.Todo.todo_list.Journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer. Producers claim a
+ * sequence with a CAS on the tail and then publish into the slot; the consumer
+ * takes slots in sequence order and stops at the first one not yet published.
+ * offer() never blocks: it fails when the consumer is a full buffer behind.
+ */
+public class MpscRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong tail = new AtomicLong();
+    // Next sequence to consume, written by the consumer only
+    private volatile long head;
+    private final int mask;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(T item) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+        slots.lazySet((int) (seq & mask), item);
+        return true;
+    }
+
+    /**
+     * Hand up to limit published items to the consumer, in order; consumer thread only
+     */
+    public int drain(Consumer<T> consumer, int limit) {
+        long seq = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (seq & mask);
+            T item = slots.get(index);
+            if (item == null) {
+                break;
+            }
+            // Free the slot before moving head, producers check head before writing
+            slots.lazySet(index, null);
+            head = ++seq;
+            drained++;
+            consumer.accept(item);
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) (tail.get() - head);
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+}
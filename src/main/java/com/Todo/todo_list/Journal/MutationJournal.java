@@ -0,0 +1,172 @@
+package com.Todo.todo_list.Journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * Audit journal of todo mutations. Request threads only build a record and offer
+ * it to a lock-free ring buffer after their transaction commits; one writer thread
+ * appends the records to memory-mapped segment files under todo.journal.directory
+ * and forces them to disk every todo.journal.fsync-interval-ms. When the writer
+ * falls a whole buffer behind, records are dropped and counted rather than
+ * slowing down the write path. Read back with {@link JournalReader}.
+ */
+@Component
+public class MutationJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(MutationJournal.class);
+
+    private static final int DRAIN_BATCH = 1024;
+
+    @Value("${todo.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.journal.directory:./data/journal}")
+    private String directory;
+
+    @Value("${todo.journal.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${todo.journal.segment-mb:64}")
+    private int segmentMb;
+
+    @Value("${todo.journal.fsync-interval-ms:1000}")
+    private long fsyncIntervalMs;
+
+    private MpscRingBuffer<JournalRecord> ring;
+    private JournalWriter writer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final AtomicLong dropped = new AtomicLong();
+    // Written by the writer thread only
+    private volatile long written;
+    private volatile long failed;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writer = new JournalWriter(Path.of(directory), Math.max(1, segmentMb) * 1024 * 1024);
+        } catch (IOException e) {
+            log.error("Cannot open mutation journal in {}, journaling disabled", directory, e);
+            enabled = false;
+            return;
+        }
+        ring = new MpscRingBuffer<>(bufferSize);
+        running = true;
+        writerThread = new Thread(this::runWriter, "journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        writer.close();
+    }
+
+    // Mutation hooks, called from the services inside their transaction and published after commit
+
+    public void onTodoSaved(Todo todo, boolean created) {
+        if (enabled) {
+            publishAfterCommit(JournalRecord.of(created ? JournalRecord.Op.CREATE : JournalRecord.Op.UPDATE, todo));
+        }
+    }
+
+    public void onTodoDeleted(Todo todo) {
+        if (enabled) {
+            publishAfterCommit(JournalRecord.of(JournalRecord.Op.DELETE, todo));
+        }
+    }
+
+    public void onAccountPurged(Long userId) {
+        if (enabled) {
+            publishAfterCommit(JournalRecord.purge(userId));
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("directory", Path.of(directory).toAbsolutePath().toString());
+        if (ring != null) {
+            metrics.put("buffered", ring.size());
+            metrics.put("bufferCapacity", ring.getCapacity());
+        }
+        metrics.put("written", written);
+        metrics.put("dropped", dropped.get());
+        metrics.put("failed", failed);
+        return metrics;
+    }
+
+    private void publishAfterCommit(JournalRecord record) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(record);
+                }
+            });
+        } else {
+            publish(record);
+        }
+    }
+
+    private void publish(JournalRecord record) {
+        if (!ring.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void runWriter() {
+        long fsyncNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        long lastForce = System.nanoTime();
+        while (running || ring.size() > 0) {
+            int drained = ring.drain(this::write, DRAIN_BATCH);
+            long now = System.nanoTime();
+            if (now - lastForce >= fsyncNanos) {
+                writer.force();
+                lastForce = now;
+            }
+            if (drained == 0) {
+                // Idle: a short park keeps latency low without spinning
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private void write(JournalRecord record) {
+        try {
+            writer.append(record);
+            written++;
+        } catch (IOException | RuntimeException e) {
+            failed++;
+            log.warn("Could not append to the mutation journal", e);
+        }
+    }
+}
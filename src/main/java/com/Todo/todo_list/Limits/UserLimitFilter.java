@@ -0,0 +1,126 @@
+package com.Todo.todo_list.Limits;
+
+import java.io.IOException;
+import java.util.Map;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Applies {@link UserLimits} to /api/todos requests. Runs ahead of the security filters
+ * and only reads the session, so rejected requests never touch the database.
+ * Streaming (async) responses keep their permit until the response completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class UserLimitFilter extends OncePerRequestFilter {
+
+    private final UserLimits userLimits;
+    private final ObjectMapper objectMapper;
+
+    public UserLimitFilter(UserLimits userLimits, ObjectMapper objectMapper) {
+        this.userLimits = userLimits;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/todos");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Long userId = session != null && session.getAttribute("user") instanceof Long id ? id : null;
+        if (userId == null) {
+            // Unauthenticated requests are answered by the controllers
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!userLimits.tryEnter(userId)) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent requests", 1);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            if (isWrite(request) && !userLimits.tryWrite(userId)) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, "Write rate limit exceeded", 1);
+                return;
+            }
+            if (isCreate(request) && !userLimits.canCreateTodo(userId)) {
+                reject(response, HttpStatus.FORBIDDEN, "Todo quota exceeded", 0);
+                return;
+            }
+
+            filterChain.doFilter(request, response);
+
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new ReleasingListener(userLimits, userId));
+            }
+        } finally {
+            if (!async) {
+                userLimits.exit(userId);
+            }
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isCreate(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return "POST".equals(request.getMethod()) && ("/api/todos".equals(path) || "/api/todos/".equals(path));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, int retryAfterSeconds)
+            throws IOException {
+        response.setStatus(status.value());
+        if (retryAfterSeconds > 0) {
+            response.setHeader("Retry-After", Integer.toString(retryAfterSeconds));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("success", false, "message", message));
+    }
+
+    private record ReleasingListener(UserLimits userLimits, Long userId) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            userLimits.exit(userId);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.Todo.todo_list.Limits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Todo.todo_list.Repository.TodoRepository;
+
+/**
+ * Per-user limits checked before a request reaches the database: in-flight request
+ * permits, a write token bucket and a cached todo count for the todo-count quota.
+ * The filter only rejects early; every write path that inserts todos reserves its
+ * quota slots here, so the check and the increment are one atomic step.
+ * State lives in a ConcurrentHashMap keyed by user id (lock-striped internally, so
+ * users never contend with each other) and is evicted once a user is idle.
+ */
+@Component
+public class UserLimits {
+
+    public enum Rejection {
+        CONCURRENCY, WRITE_RATE, TODO_QUOTA
+    }
+
+    private final TodoRepository todoRepository;
+    private final Map<Long, UserState> states = new ConcurrentHashMap<>();
+    private final Map<Rejection, LongAdder> rejections = new ConcurrentHashMap<>();
+
+    @Value("${todo.limits.max-concurrent-requests:4}")
+    private int maxConcurrentRequests;
+
+    @Value("${todo.limits.writes-per-second:5}")
+    private double writesPerSecond;
+
+    @Value("${todo.limits.write-burst:20}")
+    private int writeBurst;
+
+    @Value("${todo.limits.max-todos:10000}")
+    private long maxTodos;
+
+    @Value("${todo.limits.idle-eviction-minutes:10}")
+    private long idleEvictionMinutes;
+
+    public UserLimits(TodoRepository todoRepository) {
+        this.todoRepository = todoRepository;
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, new LongAdder());
+        }
+    }
+
+    /**
+     * Take an in-flight permit for the user; false (and counted) if the user is at the limit
+     */
+    public boolean tryEnter(Long userId) {
+        boolean[] acquired = new boolean[1];
+        // Acquire inside compute so the sweep can never evict a state between lookup and acquire
+        states.compute(userId, (id, state) -> {
+            UserState current = state != null ? state : new UserState(writeBurst);
+            current.touch();
+            acquired[0] = current.inFlight < maxConcurrentRequests;
+            if (acquired[0]) {
+                current.inFlight++;
+            }
+            return current;
+        });
+        if (!acquired[0]) {
+            reject(Rejection.CONCURRENCY);
+        }
+        return acquired[0];
+    }
+
+    public void exit(Long userId) {
+        states.computeIfPresent(userId, (id, state) -> {
+            state.inFlight--;
+            return state;
+        });
+    }
+
+    /**
+     * Take one write token for the user; false (and counted) if the write rate is exceeded
+     */
+    public boolean tryWrite(Long userId) {
+        UserState state = states.get(userId);
+        if (state == null || state.tryTakeToken(writesPerSecond, writeBurst)) {
+            return true;
+        }
+        reject(Rejection.WRITE_RATE);
+        return false;
+    }
+
+    /**
+     * How many more todos the user may create (loads the count once, then tracks it)
+     */
+    public long remainingTodoCapacity(Long userId) {
+        UserState state = states.get(userId);
+        if (state == null) {
+            return Math.max(0, maxTodos - todoRepository.countByUserId(userId));
+        }
+        if (state.todoCount.get() < 0) {
+            state.todoCount.compareAndSet(-1, todoRepository.countByUserId(userId));
+        }
+        return Math.max(0, maxTodos - state.todoCount.get());
+    }
+
+    public boolean canCreateTodo(Long userId) {
+        if (remainingTodoCapacity(userId) > 0) {
+            return true;
+        }
+        reject(Rejection.TODO_QUOTA);
+        return false;
+    }
+
+    /**
+     * Atomically take count slots of the user's todo quota: the cached count is raised
+     * by compare-and-set, so concurrent creates can never overshoot the limit. False
+     * (and counted) if the quota would be exceeded.
+     */
+    public boolean tryReserveTodos(Long userId, long count) {
+        UserState state = states.computeIfAbsent(userId, id -> new UserState(writeBurst));
+        state.touch();
+        while (true) {
+            long current = state.todoCount.get();
+            if (current < 0) {
+                state.todoCount.compareAndSet(current, todoRepository.countByUserId(userId));
+            } else if (current + count > maxTodos) {
+                reject(Rejection.TODO_QUOTA);
+                return false;
+            } else if (state.todoCount.compareAndSet(current, current + count)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserve one todo inside the current transaction; the slot is given back if the
+     * transaction rolls back. Throws QuotaExceededException when the quota is used up.
+     */
+    public void reserveTodo(Long userId) {
+        if (!tryReserveTodos(userId, 1)) {
+            throw new QuotaExceededException();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        releaseTodos(userId, 1);
+                    }
+                }
+            });
+        }
+    }
+
+    // Give back reserved slots whose rows were never written, or of deleted rows
+    public void releaseTodos(Long userId, long count) {
+        UserState state = states.get(userId);
+        if (state != null) {
+            state.todoCount.accumulateAndGet(count, (current, released) -> current < 0 ? current : current - released);
+        }
+    }
+
+    // A deleted todo frees its slot once the delete has committed
+    public void onTodoDeleted(Long userId) {
+        afterCommit(() -> releaseTodos(userId, 1));
+    }
+
+    // Force a reload of the count after bulk changes that bypass the write path (after
+    // commit, so the reload cannot read the rows the change is removing)
+    public void invalidateTodoCount(Long userId) {
+        afterCommit(() -> {
+            UserState state = states.get(userId);
+            if (state != null) {
+                state.todoCount.set(-1);
+            }
+        });
+    }
+
+    public void invalidateAllTodoCounts() {
+        states.values().forEach(state -> state.todoCount.set(-1));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleUsers() {
+        long idleBefore = System.nanoTime() - TimeUnit.MINUTES.toNanos(idleEvictionMinutes);
+        for (Long userId : states.keySet()) {
+            states.computeIfPresent(userId,
+                    (id, state) -> state.inFlight == 0 && state.lastUsedNanos < idleBefore ? null : state);
+        }
+    }
+
+    public void reject(Rejection rejection) {
+        rejections.get(rejection).increment();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("trackedUsers", states.size());
+        for (Rejection rejection : Rejection.values()) {
+            metrics.put("rejected" + rejection.name(), rejections.get(rejection).sum());
+        }
+        metrics.put("maxConcurrentRequests", maxConcurrentRequests);
+        metrics.put("writesPerSecond", writesPerSecond);
+        metrics.put("writeBurst", writeBurst);
+        metrics.put("maxTodos", maxTodos);
+        return metrics;
+    }
+
+    public static class QuotaExceededException extends IllegalStateException {
+
+        public QuotaExceededException() {
+            super("Todo quota exceeded");
+        }
+    }
+
+    private static final class UserState {
+        // Guarded by the map's bin lock (only changed inside compute)
+        int inFlight;
+        volatile long lastUsedNanos = System.nanoTime();
+        final AtomicLong todoCount = new AtomicLong(-1);
+
+        // Token bucket, guarded by this
+        private double tokens;
+        private long refilledAtNanos = System.nanoTime();
+
+        UserState(int writeBurst) {
+            this.tokens = writeBurst;
+        }
+
+        void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+
+        synchronized boolean tryTakeToken(double perSecond, int burst) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAtNanos) / 1e9 * perSecond);
+            refilledAtNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
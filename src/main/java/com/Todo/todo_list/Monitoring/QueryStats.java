@@ -0,0 +1,59 @@
+package com.Todo.todo_list.Monitoring;
+
+/**
+ * SQL statement count and JDBC execution time of the current unit of work
+ * (normally one HTTP request), bound to the calling thread.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long jdbcNanos;
+
+    private QueryStats() {
+    }
+
+    /**
+     * Start counting on this thread, replacing any previous stats
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stop counting on this thread and return what was collected (null if not started)
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    // One statement execution (a batch counts once), from Hibernate or JdbcTemplate alike
+    static void recordExecution(long nanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementCount++;
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.Todo.todo_list.Monitoring;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Counts SQL statements and JDBC time for every API request. Requests above the
+ * thresholds are logged; with todo.query-stats.expose-headers (non-prod profiles)
+ * the numbers are also returned as X-Query-Count / X-Query-Time-Ms headers. Enabled
+ * together with the DataSource wrapper that feeds it, see
+ * {@link TimingDataSourcePostProcessor}.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.query-stats.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    // Responses written progressively must not be buffered to add headers
+    private static final Set<String> STREAMING_PATHS = Set.of("/api/todos/export", "/api/todos/import",
+            "/api/todos/stream");
+
+    @Value("${todo.query-stats.expose-headers:false}")
+    private boolean exposeHeaders;
+
+    @Value("${todo.query-stats.warn-statements:10}")
+    private int warnStatements;
+
+    @Value("${todo.query-stats.warn-ms:500}")
+    private long warnMillis;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        ContentCachingResponseWrapper buffered = exposeHeaders && !STREAMING_PATHS.contains(path(request))
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            QueryStats.stop();
+            if (stats.getStatementCount() > warnStatements || stats.getJdbcMillis() > warnMillis) {
+                log.warn("{} {} executed {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                        stats.getStatementCount(), String.format(Locale.ROOT, "%.1f", stats.getJdbcMillis()));
+            }
+            if (buffered != null) {
+                buffered.setHeader(COUNT_HEADER, Integer.toString(stats.getStatementCount()));
+                buffered.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.2f", stats.getJdbcMillis()));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,8 @@
+package com.Todo.todo_list.Monitoring;
+
+/**
+ * A finished tracing span
+ */
+public record Span(long traceId, int spanId, int parentSpanId, String name, long startEpochMillis,
+        long durationMicros, String thread) {
+}
@@ -0,0 +1,53 @@
+package com.Todo.todo_list.Monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free store of the most recent spans. Writers claim a sequence
+ * number with one atomic increment and overwrite the oldest slot; readers take a
+ * best-effort snapshot without blocking writers.
+ */
+public class SpanRingBuffer {
+
+    private final AtomicReferenceArray<Span> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    public SpanRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public void record(Span span) {
+        long seq = sequence.getAndIncrement();
+        slots.lazySet((int) (seq & mask), span);
+    }
+
+    /**
+     * Up to limit of the most recent spans, newest first
+     */
+    public List<Span> snapshot(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.min(limit, slots.length()));
+        List<Span> spans = new ArrayList<>((int) (end - start));
+        for (long seq = end - 1; seq >= start; seq--) {
+            Span span = slots.get((int) (seq & mask));
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    public long getRecordedCount() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,117 @@
+package com.Todo.todo_list.Monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the DataSource so that every statement execution is counted and timed into
+ * {@link QueryStats} (and traced as a span when the request is sampled). Counting here
+ * rather than in Hibernate also covers the JdbcTemplate statements of the archiver,
+ * purger and rank rebalancer, so the count and the time always describe the same set.
+ * Connections and statements are JDK dynamic proxies: every call on them is a
+ * reflective Method.invoke, every statement allocates a proxy and handler, and each
+ * execution reads the clock twice and opens a span on sampled requests. Registered
+ * only with todo.query-stats.enabled (dev and h2 profiles), off by default.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.query-stats.enabled", havingValue = "true")
+public class TimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+            return new TimingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    static class TimingDataSource extends DelegatingDataSource {
+
+        TimingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(obtainTargetDataSource().getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            Class<?> statementType = switch (method.getName()) {
+                case "prepareStatement" -> PreparedStatement.class;
+                case "prepareCall" -> CallableStatement.class;
+                case "createStatement" -> Statement.class;
+                default -> null;
+            };
+            if (statementType == null) {
+                return result;
+            }
+            return Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(),
+                    new Class<?>[] { statementType }, new StatementHandler((Statement) result, extractSql(args)));
+        }
+
+        private static String extractSql(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+        }
+    }
+
+    private record StatementHandler(Statement target, String sql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            long start = System.nanoTime();
+            try (Tracer.Scope scope = Tracer.isActive() ? Tracer.span(spanName()) : null) {
+                return invokeTarget(target, method, args);
+            } finally {
+                QueryStats.recordExecution(System.nanoTime() - start);
+            }
+        }
+
+        private String spanName() {
+            if (sql == null) {
+                return "JDBC";
+            }
+            return "JDBC " + (sql.length() > 120 ? sql.substring(0, 120) + "..." : sql);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.Todo.todo_list.Monitoring;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process request tracing. A trace is started per sampled request; nested spans
+ * are opened with the static {@link #span(String)} from anywhere on the request
+ * thread and recorded into a {@link SpanRingBuffer} when closed. For unsampled
+ * requests the thread-local is empty and {@link #span(String)} returns a shared
+ * no-op scope, so instrumentation costs one thread-local read.
+ */
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private static final Scope NOOP = () -> {
+    };
+
+    private final SpanRingBuffer buffer;
+    private final double sampleRate;
+
+    public Tracer(@Value("${todo.tracing.sample-rate:0.0}") double sampleRate,
+            @Value("${todo.tracing.buffer-size:4096}") int bufferSize) {
+        this.sampleRate = sampleRate;
+        this.buffer = new SpanRingBuffer(bufferSize);
+    }
+
+    /**
+     * Open the root span of a new trace on this thread if the request is sampled
+     */
+    public Scope startTrace(String name) {
+        if (sampleRate <= 0 || CURRENT.get() != null
+                || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return NOOP;
+        }
+        TraceContext context = new TraceContext(buffer, ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+        CURRENT.set(context);
+        return context.open(name);
+    }
+
+    /**
+     * Open a child span of the current span, or a no-op scope when not tracing
+     */
+    public static Scope span(String name) {
+        TraceContext context = CURRENT.get();
+        return context == null ? NOOP : context.open(name);
+    }
+
+    /**
+     * Whether the current thread is inside a sampled trace (to skip building span names)
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public SpanRingBuffer getBuffer() {
+        return buffer;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * An open span; closing it records the span and makes its parent current again
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class TraceContext {
+        private final SpanRingBuffer buffer;
+        private final long traceId;
+        private int nextSpanId = 1;
+        private ActiveSpan current;
+
+        TraceContext(SpanRingBuffer buffer, long traceId) {
+            this.buffer = buffer;
+            this.traceId = traceId;
+        }
+
+        Scope open(String name) {
+            current = new ActiveSpan(this, current, nextSpanId++, name);
+            return current;
+        }
+    }
+
+    private static final class ActiveSpan implements Scope {
+        private final TraceContext context;
+        private final ActiveSpan parent;
+        private final int spanId;
+        private final String name;
+        private final long startEpochMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private boolean closed;
+
+        ActiveSpan(TraceContext context, ActiveSpan parent, int spanId, String name) {
+            this.context = context;
+            this.parent = parent;
+            this.spanId = spanId;
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long durationMicros = (System.nanoTime() - startNanos) / 1000;
+            context.buffer.record(new Span(context.traceId, spanId, parent != null ? parent.spanId : 0, name,
+                    startEpochMillis, durationMicros, Thread.currentThread().getName()));
+            context.current = parent;
+            if (parent == null) {
+                CURRENT.remove();
+            }
+        }
+    }
+}
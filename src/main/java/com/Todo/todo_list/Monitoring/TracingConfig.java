@@ -0,0 +1,67 @@
+package com.Todo.todo_list.Monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Configuration
+public class TracingConfig implements WebMvcConfigurer {
+
+    private static final String SCOPE_ATTRIBUTE = TracingConfig.class.getName() + ".scope";
+
+    /**
+     * Span around every public method of @Traced beans (TodoServices, AuthService).
+     * Infrastructure role so the advisor is applied by whichever auto-proxy creator is active.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tracedBeanAdvisor() {
+        MethodInterceptor interceptor = invocation -> {
+            if (!Tracer.isActive()) {
+                return invocation.proceed();
+            }
+            String name = invocation.getMethod().getDeclaringClass().getSimpleName() + "."
+                    + invocation.getMethod().getName();
+            try (Tracer.Scope scope = Tracer.span(name)) {
+                return invocation.proceed();
+            }
+        };
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Traced.class, true), interceptor);
+    }
+
+    // Span around each controller handler
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (Tracer.isActive() && handler instanceof HandlerMethod method) {
+                    request.setAttribute(SCOPE_ATTRIBUTE, Tracer.span(
+                            method.getBeanType().getSimpleName() + "." + method.getMethod().getName()));
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                    Exception ex) {
+                if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof Tracer.Scope scope) {
+                    request.removeAttribute(SCOPE_ATTRIBUTE);
+                    scope.close();
+                }
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
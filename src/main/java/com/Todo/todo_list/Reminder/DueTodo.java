@@ -0,0 +1,9 @@
+package com.Todo.todo_list.Reminder;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the few todo columns the reminder loader needs
+ */
+public record DueTodo(Long id, Long userId, String title, LocalDate dueDate) {
+}
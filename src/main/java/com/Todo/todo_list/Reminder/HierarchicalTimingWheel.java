@@ -0,0 +1,204 @@
+package com.Todo.todo_list.Reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel keyed by an id, so an entry can be rescheduled or
+ * cancelled in O(1). Level 0 has {@code wheelSize} slots of {@code tickMs}; each
+ * higher level has slots {@code wheelSize} times wider. Entries too far out for
+ * a level sit in a coarser one and cascade down as the clock reaches their slot,
+ * so insert, cancel and each tick cost O(1) amortized regardless of how far ahead
+ * entries are scheduled. Entries fire on the first tick boundary at or after their
+ * deadline, i.e. at most one tick late and never early.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public class HierarchicalTimingWheel<K, V> {
+
+    private static final int MAX_LEVELS = 8;
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Bucket<K, V>[]> levels = new ArrayList<>();
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+
+    // Start of the next tick to process (aligned to tickMs)
+    private long currentTime;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - (startMs % tickMs);
+        addLevel();
+    }
+
+    /**
+     * Schedule (or reschedule) the value under the key. Returns false if the deadline
+     * has already passed, in which case nothing is scheduled.
+     */
+    public boolean schedule(K key, long deadlineMs, V value) {
+        cancel(key);
+        if (deadlineMs < currentTime) {
+            return false;
+        }
+        Entry<K, V> entry = new Entry<>(key, deadlineMs, value);
+        entries.put(key, entry);
+        place(entry);
+        return true;
+    }
+
+    /**
+     * Remove the entry for the key, returns true if it was scheduled
+     */
+    public boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.unlink(entry);
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Advance the clock to nowMs, passing every entry whose deadline has been reached to expired
+     */
+    public void advanceTo(long nowMs, Consumer<V> expired) {
+        while (currentTime + tickMs <= nowMs) {
+            Bucket<K, V> due = levels.get(0)[slot(currentTime, tickMs)];
+            for (Entry<K, V> entry = due.drain(); entry != null;) {
+                Entry<K, V> next = entry.next;
+                entry.next = null;
+                entries.remove(entry.key);
+                expired.accept(entry.value);
+                entry = next;
+            }
+
+            currentTime += tickMs;
+            cascade();
+        }
+    }
+
+    // Move entries whose coarse slot has just become current into finer levels, coarsest first
+    private void cascade() {
+        for (int level = levels.size() - 1; level >= 1; level--) {
+            long levelTick = levelTick(level);
+            if (currentTime % levelTick != 0) {
+                continue;
+            }
+            Bucket<K, V> bucket = levels.get(level)[slot(currentTime, levelTick)];
+            for (Entry<K, V> entry = bucket.drain(); entry != null;) {
+                Entry<K, V> next = entry.next;
+                entry.next = null;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void place(Entry<K, V> entry) {
+        int level = 0;
+        long levelTick = tickMs;
+        while (entry.deadlineMs / levelTick - currentTime / levelTick >= wheelSize) {
+            level++;
+            if (level == levels.size()) {
+                if (levels.size() == MAX_LEVELS) {
+                    throw new IllegalArgumentException("Deadline too far in the future: " + entry.deadlineMs);
+                }
+                addLevel();
+            }
+            levelTick = levelTick(level);
+        }
+        levels.get(level)[slot(entry.deadlineMs, levelTick)].link(entry);
+    }
+
+    private long levelTick(int level) {
+        long tick = tickMs;
+        for (int i = 0; i < level; i++) {
+            tick *= wheelSize;
+        }
+        return tick;
+    }
+
+    private int slot(long timeMs, long levelTick) {
+        return (int) ((timeMs / levelTick) % wheelSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        Bucket<K, V>[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        levels.add(buckets);
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final long deadlineMs;
+        final V value;
+        Bucket<K, V> bucket;
+        Entry<K, V> prev;
+        Entry<K, V> next;
+
+        Entry(K key, long deadlineMs, V value) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.value = value;
+        }
+    }
+
+    // Intrusive doubly linked list, so cancelling an entry does not search its slot
+    private static final class Bucket<K, V> {
+        Entry<K, V> head;
+
+        void link(Entry<K, V> entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        void unlink(Entry<K, V> entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        // Detach the whole list; entries remain chained through next
+        Entry<K, V> drain() {
+            Entry<K, V> first = head;
+            head = null;
+            for (Entry<K, V> entry = first; entry != null; entry = entry.next) {
+                entry.bucket = null;
+                entry.prev = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.Todo.todo_list.Reminder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Local sink for tests: keeps the most recent reminders in memory
+@Component
+@ConditionalOnProperty(name = "todo.reminders.sink", havingValue = "memory")
+public class InMemoryReminderSink implements ReminderSink {
+
+    private static final int CAPACITY = 10_000;
+
+    private final Deque<Reminder> delivered = new ArrayDeque<>();
+
+    @Override
+    public synchronized void deliver(Reminder reminder) {
+        if (delivered.size() == CAPACITY) {
+            delivered.removeFirst();
+        }
+        delivered.addLast(reminder);
+    }
+
+    public synchronized List<Reminder> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.Todo.todo_list.Reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Default sink: writes fired reminders to the application log
+@Component
+@ConditionalOnProperty(name = "todo.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void deliver(Reminder reminder) {
+        log.info("Reminder for user {}: todo {} '{}' is due {}",
+                reminder.userId(), reminder.todoId(), reminder.title(), reminder.dueDate());
+    }
+}
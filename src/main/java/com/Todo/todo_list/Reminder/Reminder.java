@@ -0,0 +1,10 @@
+package com.Todo.todo_list.Reminder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A due-date reminder for one todo, handed to a {@link ReminderSink} when it fires
+ */
+public record Reminder(Long todoId, Long userId, String title, LocalDate dueDate, Instant fireAt) {
+}
@@ -0,0 +1,247 @@
+package com.Todo.todo_list.Reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Repository.TodoRepository;
+
+/**
+ * Due-date reminders. Only todos whose reminder falls inside the next window are
+ * loaded (indexed range query on due_date) into a {@link HierarchicalTimingWheel};
+ * the window is extended periodically and kept current by {@link #onTodoSaved} and
+ * {@link #onTodoDeleted} from the todo write path. Memory and CPU therefore scale
+ * with the number of upcoming reminders, not with the size of the todos table.
+ * Time comes from a Clock bean when one is defined (tests), the system clock otherwise.
+ */
+@Component
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 64;
+
+    private final TodoRepository todoRepository;
+    private final ReminderSink sink;
+    private final Clock clock;
+    private final ZoneId zone;
+
+    @Value("${todo.reminders.enabled:true}")
+    private boolean enabled;
+
+    // Reminders fire at this local time on the due date
+    @Value("${todo.reminders.time-of-day:09:00}")
+    private String timeOfDay;
+
+    @Value("${todo.reminders.window-hours:24}")
+    private long windowHours;
+
+    private LocalTime reminderTime;
+    private HierarchicalTimingWheel<Long, Reminder> wheel;
+    private ScheduledExecutorService executor;
+
+    // Reminders up to this instant are loaded in the wheel, or being loaded by
+    // extendWindow (guarded by this)
+    private Instant horizon;
+    // Todos saved or deleted while extendWindow's query runs, its rows for them are stale
+    // (guarded by this, null when no load is running)
+    private Set<Long> changedDuringLoad;
+
+    public ReminderScheduler(TodoRepository todoRepository, ReminderSink sink, ObjectProvider<Clock> clock) {
+        this.todoRepository = todoRepository;
+        this.sink = sink;
+        this.clock = clock.getIfAvailable(Clock::systemDefaultZone);
+        this.zone = this.clock.getZone();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        startWheel();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+        // Extend the window well before it runs out
+        long refreshMinutes = Math.max(1, windowHours * 60 / 4);
+        executor.scheduleWithFixedDelay(this::extendWindow, 0, refreshMinutes, TimeUnit.MINUTES);
+    }
+
+    // An empty wheel at the current time, no reminders loaded yet
+    synchronized void startWheel() {
+        reminderTime = LocalTime.parse(timeOfDay);
+        Instant now = clock.instant();
+        wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, now.toEpochMilli());
+        horizon = now;
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Keep the wheel in sync after a todo was created or updated (applied after commit)
+     */
+    public void onTodoSaved(Todo todo) {
+        if (!enabled || todo.getId() == null) {
+            return;
+        }
+        Long todoId = todo.getId();
+        Reminder reminder = todo.isCompleted() || todo.getDate() == null || todo.getUser() == null ? null
+                : new Reminder(todoId, todo.getUser().getId(), todo.getTitle(), todo.getDate(),
+                        fireTime(todo.getDate()));
+        afterCommit(() -> reschedule(todoId, reminder));
+    }
+
+    /**
+     * Drop the reminder of a deleted todo (applied after commit)
+     */
+    public void onTodoDeleted(Long todoId) {
+        onTodosDeleted(List.of(todoId));
+    }
+
+    public void onTodosDeleted(Collection<Long> todoIds) {
+        if (!enabled || todoIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(todoIds);
+        afterCommit(() -> {
+            synchronized (this) {
+                ids.forEach(wheel::cancel);
+                if (changedDuringLoad != null) {
+                    changedDuringLoad.addAll(ids);
+                }
+            }
+        });
+    }
+
+    private synchronized void reschedule(Long todoId, Reminder reminder) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(todoId);
+        }
+        // Reminders beyond the window are picked up when the window reaches them
+        if (reminder == null || reminder.fireAt().isAfter(horizon)) {
+            wheel.cancel(todoId);
+            return;
+        }
+        wheel.schedule(todoId, reminder.fireAt().toEpochMilli(), reminder);
+    }
+
+    public synchronized int getScheduledCount() {
+        return wheel != null ? wheel.size() : 0;
+    }
+
+    public synchronized boolean isScheduled(Long todoId) {
+        return wheel != null && wheel.contains(todoId);
+    }
+
+    void tick() {
+        List<Reminder> fired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(clock.millis(), fired::add);
+        }
+        for (Reminder reminder : fired) {
+            try {
+                sink.deliver(reminder);
+            } catch (RuntimeException e) {
+                log.warn("Reminder sink failed for todo {}", reminder.todoId(), e);
+            }
+        }
+    }
+
+    /**
+     * Load reminders in (horizon, now + window] with one range query. The horizon moves
+     * before the query runs, so todos committed meanwhile are scheduled by onTodoSaved
+     * itself; their rows in the query result may be stale and are skipped.
+     */
+    void extendWindow() {
+        Instant from;
+        Instant to;
+        synchronized (this) {
+            from = horizon;
+            to = clock.instant().plus(Duration.ofHours(windowHours));
+            if (!to.isAfter(from) || changedDuringLoad != null) {
+                return;
+            }
+            horizon = to;
+            changedDuringLoad = new HashSet<>();
+        }
+
+        List<DueTodo> due;
+        try {
+            due = todoRepository.findOpenDueBetween(from.atZone(zone).toLocalDate(), to.atZone(zone).toLocalDate());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                // Retried by the next run; reminders scheduled meanwhile stay in the wheel
+                horizon = from;
+                changedDuringLoad = null;
+            }
+            log.warn("Failed to extend reminder window", e);
+            return;
+        }
+
+        int loaded = 0;
+        synchronized (this) {
+            for (DueTodo todo : due) {
+                Instant fireAt = fireTime(todo.dueDate());
+                if (fireAt.isAfter(from) && !fireAt.isAfter(to) && !wheel.contains(todo.id())
+                        && !changedDuringLoad.contains(todo.id())) {
+                    wheel.schedule(todo.id(), fireAt.toEpochMilli(),
+                            new Reminder(todo.id(), todo.userId(), todo.title(), todo.dueDate(), fireAt));
+                    loaded++;
+                }
+            }
+            changedDuringLoad = null;
+        }
+        log.debug("Reminder window extended to {}: {} reminders loaded", to, loaded);
+    }
+
+    private Instant fireTime(LocalDate dueDate) {
+        return dueDate.atTime(reminderTime).atZone(zone).toInstant();
+    }
+
+    // A rolled-back write must not change the wheel
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.Todo.todo_list.Reminder;
+
+/**
+ * Destination for fired reminders (log, in-memory, mail, push...).
+ * Called from the reminder thread, so implementations should not block for long.
+ */
+public interface ReminderSink {
+
+    void deliver(Reminder reminder);
+}
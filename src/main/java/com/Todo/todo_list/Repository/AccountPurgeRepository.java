@@ -0,0 +1,15 @@
+package com.Todo.todo_list.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.Todo.todo_list.Entity.AccountPurge;
+
+@Repository
+public interface AccountPurgeRepository extends JpaRepository<AccountPurge, Long> {
+
+    // Purges still to run, oldest request first
+    List<AccountPurge> findByCompletedAtIsNullOrderByRequestedAtAsc();
+}
@@ -0,0 +1,29 @@
+package com.Todo.todo_list.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.Todo.todo_list.Entity.ActivityRollup;
+
+@Repository
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, Long> {
+
+    // Buckets of one granularity in [from, to) (unique granularity/bucket_start index)
+    List<ActivityRollup> findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            ActivityRollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+
+    // Active users per day: [day, count]
+    @Query("SELECT d.activityDate, COUNT(d) FROM DailyActiveUser d "
+            + "WHERE d.activityDate BETWEEN :from AND :to GROUP BY d.activityDate ORDER BY d.activityDate")
+    List<Object[]> countActiveUsersByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Distinct users active on any day of the range
+    @Query("SELECT COUNT(DISTINCT d.userId) FROM DailyActiveUser d WHERE d.activityDate BETWEEN :from AND :to")
+    long countActiveUsers(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,18 @@
+package com.Todo.todo_list.Repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.Todo.todo_list.Entity.TodoArchive;
+
+@Repository
+public interface TodoArchiveRepository extends JpaRepository<TodoArchive, Long> {
+
+    // Archived todos of a user, most recently completed first
+    Page<TodoArchive> findByUserIdOrderByUpdatedAtDesc(Long userId, Pageable pageable);
+
+    // Count archived todos of a user
+    long countByUserId(Long userId);
+}
@@ -1,24 +1,56 @@
 package com.Todo.todo_list.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.Todo.todo_list.Entity.Todo;
 import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Facets.FacetRow;
+import com.Todo.todo_list.Reminder.DueTodo;
 
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+public interface TodoRepository extends JpaRepository<Todo, Long>, JpaSpecificationExecutor<Todo>,
+        TodoRepositoryCustom {
 
     // Find all todos for a specific user
     List<Todo> findByUserOrderByCreatedAtDesc(User user);
 
-    // Find todos by user ID
-    List<Todo> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // Stream all todos for a user in id order (export). Must be consumed and
+    // closed inside a transaction; rows are fetched from the cursor in batches.
+    @Query("SELECT t FROM Todo t WHERE t.user = :user ORDER BY t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    Stream<Todo> streamByUser(@Param("user") User user);
+
+    // Stream all todos for a user newest first, the default order of the todo list.
+    // Same transaction rules as streamByUser.
+    @Query("SELECT t FROM Todo t WHERE t.user = :user ORDER BY t.createdAt DESC, t.id DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    Stream<Todo> streamByUserNewestFirst(@Param("user") User user);
+
+    // Find todos by user ID (explicit query: the derived one joins users and scans todos)
+    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId ORDER BY t.createdAt DESC")
+    List<Todo> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
 
     // Find completed todos for a user
     List<Todo> findByUserAndCompleted(User user, boolean completed);
@@ -29,6 +61,25 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     // Find todos by priority for a user
     List<Todo> findByUserAndPriority(User user, Todo.Priority priority);
 
+    // Todos due in [from, to] for a user, earliest first (range scan on user_id, due_date)
+    List<Todo> findByUserAndDateBetweenOrderByDateAsc(User user, LocalDate from, LocalDate to);
+
+    // Open todos due before a date for a user, earliest first
+    List<Todo> findByUserAndCompletedFalseAndDateBeforeOrderByDateAsc(User user, LocalDate date);
+
+    // Open todos of all users due in [from, to] (reminder window, due_date index)
+    @Query("SELECT new com.Todo.todo_list.Reminder.DueTodo(t.id, t.user.id, t.title, t.date) " +
+            "FROM Todo t WHERE t.date BETWEEN :from AND :to AND t.completed = false")
+    List<DueTodo> findOpenDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Facet columns of all todos of a user (builds the in-memory facet index)
+    @Query("SELECT new com.Todo.todo_list.Facets.FacetRow(t.id, t.status, t.priority, t.completed) " +
+            "FROM Todo t WHERE t.user.id = :userId")
+    List<FacetRow> findFacetRowsByUserId(@Param("userId") Long userId);
+
+    // Todos with a due date for a user ordered by due date, one page at a time
+    List<Todo> findByUserAndDateIsNotNullOrderByDateAsc(User user, Pageable pageable);
+
     // Find todo by ID and user (for security - user can only access their own
     // todos)
     Optional<Todo> findByIdAndUser(Long id, User user);
@@ -46,8 +97,68 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     // Count completed vs pending todos for a user
     long countByUserAndCompleted(User user, boolean completed);
 
-    // Delete all todos for a user
-    void deleteByUser(User user);
+    // A todo and its descendants down to maxDepth levels, parents before children.
+    // One recursive CTE instead of a query per level.
+    @Query(value = "WITH RECURSIVE subtree (id, depth) AS ("
+            + " SELECT id, 0 FROM todos WHERE id = :rootId AND user_id = :userId"
+            + " UNION ALL"
+            + " SELECT c.id, s.depth + 1 FROM todos c JOIN subtree s ON c.parent_id = s.id"
+            + " WHERE s.depth < :maxDepth AND c.user_id = :userId)"
+            + " SELECT t.* FROM todos t JOIN subtree s ON t.id = s.id ORDER BY s.depth, t.id",
+            nativeQuery = true)
+    List<Todo> findSubtree(@Param("rootId") Long rootId, @Param("userId") Long userId,
+            @Param("maxDepth") int maxDepth);
+
+    // Adjust a parent's child roll-up in place (no read-modify-write race)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Todo t SET t.childCount = t.childCount + :children, "
+            + "t.completedChildCount = t.completedChildCount + :completedChildren WHERE t.id = :parentId")
+    int adjustChildCounts(@Param("parentId") Long parentId, @Param("children") int children,
+            @Param("completedChildren") int completedChildren);
+
+    // Recurring todos of a user whose occurrences can fall in [from, to]
+    @Query("SELECT t FROM Todo t WHERE t.user = :user AND t.recurrence IS NOT NULL AND t.date <= :to "
+            + "AND (t.recurrenceUntil IS NULL OR t.recurrenceUntil >= :from)")
+    List<Todo> findRecurringInWindow(@Param("user") User user, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Stored exceptions of recurring todos in a window (recurrence source index)
+    List<Todo> findByRecurrenceSourceIdInAndOccurrenceDateBetween(Collection<Long> sourceIds, LocalDate from,
+            LocalDate to);
+
+    Optional<Todo> findByRecurrenceSourceIdAndOccurrenceDate(Long sourceId, LocalDate occurrenceDate);
+
+    // Ids of the stored exceptions of a recurring todo (to cancel their reminders)
+    @Query("SELECT t.id FROM Todo t WHERE t.recurrenceSourceId = :sourceId")
+    List<Long> findIdsByRecurrenceSourceId(@Param("sourceId") Long sourceId);
+
+    // Remove the exceptions of a recurring todo that is being deleted
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.recurrenceSourceId = :sourceId")
+    int deleteByRecurrenceSourceId(@Param("sourceId") Long sourceId);
+
+    // Highest rank key of a user (new todos go after it)
+    @Query("SELECT MAX(t.rank) FROM Todo t WHERE t.user.id = :userId")
+    String findMaxRank(@Param("userId") Long userId);
+
+    // Neighbours of a move, locked so a rank rebalance batch holding them is waited for
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Todo t WHERE t.id = :id AND t.user = :user")
+    Optional<Todo> findByIdAndUserForUpdate(@Param("id") Long id, @Param("user") User user);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Todo> findFirstByUserAndRankGreaterThanOrderByRankAsc(User user, String rank);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Todo> findFirstByUserAndRankLessThanOrderByRankDesc(User user, String rank);
+
+    // Set the rank of one todo without touching any other column
+    @Modifying
+    @Query("UPDATE Todo t SET t.rank = :rank WHERE t.id = :id")
+    int updateRank(@Param("id") Long id, @Param("rank") String rank);
+
+    // Count all todos for a user (todo-count quota)
+    long countByUserId(Long userId);
 
     // Legacy methods for backward compatibility
     List<Todo> findByCompleted(boolean completed);
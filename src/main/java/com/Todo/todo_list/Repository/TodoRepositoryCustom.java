@@ -0,0 +1,21 @@
+package com.Todo.todo_list.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.Tuple;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * Queries of TodoRepository that Spring Data cannot derive, implemented in
+ * {@link TodoRepositoryImpl}
+ */
+public interface TodoRepositoryCustom {
+
+    // Only the given attributes (tuple aliases = attribute names) of the todos matching spec
+    List<Tuple> findAttributes(Specification<Todo> spec, Sort sort, Collection<String> attributes);
+}
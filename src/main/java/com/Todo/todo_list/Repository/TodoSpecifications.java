@@ -0,0 +1,53 @@
+package com.Todo.todo_list.Repository;
+
+import java.util.Collection;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+
+/**
+ * Filters for {@link TodoRepository#findAll(Specification, org.springframework.data.domain.Sort)}.
+ * Every query starts from {@link #ownedBy(User)} so the user_id prefix of the
+ * per-user indexes is always bound; the other filters are combined with and().
+ */
+public final class TodoSpecifications {
+
+    private TodoSpecifications() {
+    }
+
+    public static Specification<Todo> ownedBy(User user) {
+        return (root, query, cb) -> cb.equal(root.get("user"), user);
+    }
+
+    public static Specification<Todo> hasStatus(Todo.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Todo> hasPriority(Todo.Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Todo> statusIn(Collection<Todo.Status> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Todo> priorityIn(Collection<Todo.Priority> priorities) {
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Todo> isCompleted(boolean completed) {
+        return (root, query, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    // Case-insensitive substring match on title or description (not index assisted)
+    public static Specification<Todo> matches(String term) {
+        String pattern = "%" + term.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.get("description")), pattern, '\\'));
+    }
+}
@@ -0,0 +1,177 @@
+package com.Todo.todo_list.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Todo.todo_list.Entity.AccountPurge;
+import com.Todo.todo_list.Facets.TodoFacetIndex;
+import com.Todo.todo_list.Journal.MutationJournal;
+import com.Todo.todo_list.Limits.UserLimits;
+import com.Todo.todo_list.Reminder.ReminderScheduler;
+import com.Todo.todo_list.Repository.AccountPurgeRepository;
+
+/**
+ * Background job that deletes the data of accounts deactivated through
+ * DELETE /api/auth/account. Rows are removed in chunks of todo.purge.chunk-size
+ * (ids selected through the user_id index, then deleted by primary key), each in
+ * its own short transaction that also records progress in account_purges, so
+ * a purge interrupted by a restart resumes with the remaining rows. The user row
+ * goes last, together with anything created while the purge was running.
+ */
+@Component
+public class AccountPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountPurger.class);
+
+    private static final String SELECT_TODOS = "SELECT id FROM todos WHERE user_id = ? ORDER BY id LIMIT ?";
+    private static final String DELETE_TODOS = "DELETE FROM todos WHERE id IN (:ids)";
+    private static final String SELECT_ARCHIVED = "SELECT id FROM todos_archive WHERE user_id = ? ORDER BY id LIMIT ?";
+    private static final String DELETE_ARCHIVED = "DELETE FROM todos_archive WHERE id IN (:ids)";
+    private static final String RECORD_TODOS = "UPDATE account_purges SET todos_deleted = todos_deleted + ? "
+            + "WHERE user_id = ?";
+    private static final String RECORD_ARCHIVED = "UPDATE account_purges SET archived_deleted = archived_deleted + ? "
+            + "WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountPurgeRepository purgeRepository;
+    private final ReminderScheduler reminderScheduler;
+    private final UserLimits userLimits;
+    private final TodoFacetIndex facetIndex;
+    private final MutationJournal journal;
+
+    @Value("${todo.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${todo.purge.throttle-ms:50}")
+    private long throttleMs;
+
+    public AccountPurger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            AccountPurgeRepository purgeRepository, ReminderScheduler reminderScheduler, UserLimits userLimits,
+            TodoFacetIndex facetIndex, MutationJournal journal) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeRepository = purgeRepository;
+        this.reminderScheduler = reminderScheduler;
+        this.userLimits = userLimits;
+        this.facetIndex = facetIndex;
+        this.journal = journal;
+    }
+
+    /**
+     * Record a purge for the user, called in the transaction that deactivates it
+     */
+    public void request(Long userId) {
+        if (!purgeRepository.existsById(userId)) {
+            purgeRepository.save(new AccountPurge(userId));
+        }
+    }
+
+    // Also picks up purges left unfinished by a previous run of the application
+    @Scheduled(initialDelayString = "${todo.purge.initial-delay-ms:10000}",
+            fixedDelayString = "${todo.purge.interval-ms:10000}")
+    public void purgePending() {
+        for (AccountPurge purge : purgeRepository.findByCompletedAtIsNullOrderByRequestedAtAsc()) {
+            try {
+                purge(purge.getUserId());
+            } catch (DataAccessException e) {
+                log.warn("Purge of user {} failed, will retry", purge.getUserId(), e);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Delete everything owned by the user, returns false if interrupted
+     */
+    public boolean purge(Long userId) {
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_TODOS, Long.class, userId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleteChunk(userId, ids, DELETE_TODOS, RECORD_TODOS);
+            ids.forEach(reminderScheduler::onTodoDeleted);
+            if (!pause()) {
+                return false;
+            }
+        }
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_ARCHIVED, Long.class, userId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleteChunk(userId, ids, DELETE_ARCHIVED, RECORD_ARCHIVED);
+            if (!pause()) {
+                return false;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Rows written by requests that were still in flight when the account was deactivated
+            int late = jdbcTemplate.update("DELETE FROM todos WHERE user_id = ?", userId);
+            jdbcTemplate.update(RECORD_TODOS, late, userId);
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE scoped_key LIKE ?", userId + ":%");
+            jdbcTemplate.update("DELETE FROM users WHERE id = ? AND is_active = false", userId);
+            jdbcTemplate.update("UPDATE account_purges SET completed_at = ? WHERE user_id = ?",
+                    Timestamp.valueOf(LocalDateTime.now()), userId);
+        });
+        userLimits.invalidateTodoCount(userId);
+        facetIndex.invalidate(userId);
+        journal.onAccountPurged(userId);
+        log.info("Purged account {}", userId);
+        return true;
+    }
+
+    public Map<String, Object> getMetrics() {
+        List<Map<String, Object>> pending = purgeRepository.findByCompletedAtIsNullOrderByRequestedAtAsc().stream()
+                .map(purge -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("userId", purge.getUserId());
+                    entry.put("requestedAt", purge.getRequestedAt());
+                    entry.put("todosDeleted", purge.getTodosDeleted());
+                    entry.put("archivedDeleted", purge.getArchivedDeleted());
+                    return entry;
+                })
+                .toList();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pending", pending);
+        metrics.put("completed", purgeRepository.count() - pending.size());
+        return metrics;
+    }
+
+    private void deleteChunk(Long userId, List<Long> ids, String deleteSql, String progressSql) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int deleted = namedJdbcTemplate.update(deleteSql, Map.of("ids", ids));
+            jdbcTemplate.update(progressSql, deleted, userId);
+        });
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(throttleMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
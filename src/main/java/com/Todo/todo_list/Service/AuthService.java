@@ -1,21 +1,29 @@
 package com.Todo.todo_list.Service;
 
+import com.Todo.todo_list.Analytics.ActivityRollups;
+import com.Todo.todo_list.Config.AdminAccess;
+import com.Todo.todo_list.Config.SecurityConfig;
 import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Monitoring.Traced;
 import com.Todo.todo_list.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpSession;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 @Transactional
+@Traced
 public class AuthService {
 
     @Autowired
@@ -24,8 +32,23 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AdminAccess adminAccess;
+
+    @Autowired
+    private AccountPurger accountPurger;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
     private static final String SESSION_USER_KEY = "user";
 
+    // Set on sessions recorded in the session registry, see SessionAuthenticationFilter
+    public static final String SESSION_REGISTERED_KEY = "registeredSession";
+
     /**
      * Register a new user
      */
@@ -58,9 +81,12 @@ public class AuthService {
      * Authenticate user login
      */
     public User authenticateUser(String usernameOrEmail, String password) {
-        // Find user by username or email
-        Optional<User> userOptional = userRepository.findByUsernameOrEmail(
-                usernameOrEmail, usernameOrEmail);
+        // Find user by username, then by email: two index lookups, where one query with
+        // OR across both columns scans the users table
+        Optional<User> userOptional = userRepository.findByUsername(usernameOrEmail);
+        if (userOptional.isEmpty()) {
+            userOptional = userRepository.findByEmail(usernameOrEmail);
+        }
 
         if (userOptional.isEmpty()) {
             throw new RuntimeException("Invalid credentials");
@@ -78,6 +104,12 @@ public class AuthService {
             throw new RuntimeException("Invalid credentials");
         }
 
+        // Rehash with the current cost factor while the plain password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            userRepository.save(user);
+        }
+
         return user;
     }
 
@@ -87,13 +119,30 @@ public class AuthService {
     public void createSession(HttpSession session, User user) {
         session.setAttribute(SESSION_USER_KEY, user.getId());
         session.setMaxInactiveInterval(24 * 60 * 60); // 24 hours
+        activityRollups.onLogin(user.getId());
 
         // Set Spring Security context
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 user.getUsername(),
                 null,
-                java.util.List.of(new SimpleGrantedAuthority("ROLE_USER")));
+                adminAccess.authoritiesFor(user.getUsername()));
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        registerSession(session, user.getUsername());
+    }
+
+    /**
+     * Record the session in the session registry. Sessions over the per-user maximum,
+     * least recently used first, are expired and rejected on their next request.
+     */
+    private void registerSession(HttpSession session, String username) {
+        List<SessionInformation> sessions = sessionRegistry.getAllSessions(username, false);
+        sessions.removeIf(info -> info.getSessionId().equals(session.getId()));
+        sessions.sort(Comparator.comparing(SessionInformation::getLastRequest));
+        for (int i = 0; i <= sessions.size() - SecurityConfig.MAXIMUM_SESSIONS; i++) {
+            sessions.get(i).expireNow();
+        }
+        sessionRegistry.registerNewSession(session.getId(), username);
+        session.setAttribute(SESSION_REGISTERED_KEY, Boolean.TRUE);
     }
 
     /**
@@ -122,7 +171,7 @@ public class AuthService {
             Authentication authentication = new UsernamePasswordAuthenticationToken(
                     user.getUsername(),
                     null,
-                    java.util.List.of(new SimpleGrantedAuthority("ROLE_USER")));
+                    adminAccess.authoritiesFor(user.getUsername()));
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
@@ -198,6 +247,28 @@ public class AuthService {
         userRepository.save(user);
     }
 
+    /**
+     * Delete account: deactivated immediately, data purged in the background
+     */
+    public void deleteAccount(Long userId, String password) {
+        Optional<User> userOptional = userRepository.findById(userId);
+
+        if (userOptional.isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+
+        User user = userOptional.get();
+
+        // Verify password
+        if (password == null || !passwordEncoder.matches(password, user.getPassword())) {
+            throw new RuntimeException("Password is incorrect");
+        }
+
+        user.setActive(false);
+        userRepository.save(user);
+        accountPurger.request(userId);
+    }
+
     /**
      * Get user by username
      */
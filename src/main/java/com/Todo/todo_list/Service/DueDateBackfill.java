@@ -0,0 +1,100 @@
+package com.Todo.todo_list.Service;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * One-off migration of the legacy free-form "date" column into the typed "due_date"
+ * column. Runs at startup only when the legacy column still exists, walks rows in id
+ * order in small batches, and clears the legacy value once it has been converted, so
+ * later startups only revisit rows that could not be parsed.
+ */
+@Component
+public class DueDateBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DueDateBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DueDateBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : List.of("todos", "todos_archive")) {
+            if (hasLegacyDateColumn(table)) {
+                backfill(table);
+            }
+        }
+    }
+
+    private boolean hasLegacyDateColumn(String table) {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) (Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[] { table, table.toUpperCase() }) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, name, null)) {
+                    while (columns.next()) {
+                        if ("date".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    private void backfill(String table) {
+        String select = "SELECT id, date FROM " + table
+                + " WHERE due_date IS NULL AND date IS NOT NULL AND id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+        String update = "UPDATE " + table + " SET due_date = ?, date = NULL WHERE id = ?";
+
+        long lastId = 0;
+        long converted = 0;
+        long unparseable = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(select,
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2) }, lastId);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                try {
+                    LocalDate dueDate = Todo.parseDate((String) row[1]);
+                    updates.add(new Object[] { dueDate, row[0] });
+                } catch (IllegalArgumentException e) {
+                    unparseable++;
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(update, updates);
+                converted += updates.size();
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        if (converted > 0 || unparseable > 0) {
+            log.info("Backfilled due_date in {}: {} converted, {} left unparseable", table, converted, unparseable);
+        }
+    }
+}
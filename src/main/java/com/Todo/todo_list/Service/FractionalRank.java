@@ -0,0 +1,116 @@
+package com.Todo.todo_list.Service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic rank keys for manual ordering. A key is a base-36 fraction
+ * (digits 0-9a-z, no trailing '0'), so comparing keys as strings compares their
+ * values and a key strictly between any two others always exists. Lower-case
+ * digits only, so case-insensitive collations order them the same way.
+ */
+final class FractionalRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final BigInteger BASE = BigInteger.valueOf(DIGITS.length());
+
+    private FractionalRank() {
+    }
+
+    /**
+     * A key strictly between before and after; null means unbounded on that side
+     */
+    static String between(String before, String after) {
+        String a = before != null ? before : "";
+        if (after != null && a.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " is not before " + after);
+        }
+        if (a.endsWith("0") || (after != null && (after.isEmpty() || after.endsWith("0")))) {
+            throw new IllegalArgumentException("Invalid rank key");
+        }
+        return midpoint(a, after);
+    }
+
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // Copy the common prefix (a is padded with zeros) and recurse on the rest
+            int n = 0;
+            while (n < b.length() && digitAt(a, n) == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.length() > n ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int digitA = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int digitB = b != null ? DIGITS.indexOf(b.charAt(0)) : DIGITS.length();
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.length() > 1 ? a.substring(1) : "", null);
+    }
+
+    private static char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : '0';
+    }
+
+    /**
+     * count keys of equal length spread evenly over the key space (used to rebalance)
+     */
+    static List<String> evenlySpaced(int count) {
+        return evenlySpaced(null, null, count);
+    }
+
+    /**
+     * count keys spread evenly between before and after (null means unbounded on that
+     * side), long enough to leave room for about 36 insertions between neighbours
+     */
+    static List<String> evenlySpaced(String before, String after, int count) {
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " is not before " + after);
+        }
+        int length = Math.max(before != null ? before.length() : 0, after != null ? after.length() : 0);
+        BigInteger low = valueOf(before, length);
+        BigInteger high = after != null ? valueOf(after, length) : BASE.pow(length);
+        BigInteger needed = BigInteger.valueOf(count + 1L).multiply(BASE);
+        while (high.subtract(low).compareTo(needed) < 0) {
+            low = low.multiply(BASE);
+            high = high.multiply(BASE);
+            length++;
+        }
+        BigInteger step = high.subtract(low).divide(BigInteger.valueOf(count + 1L));
+
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String digits = low.add(step.multiply(BigInteger.valueOf(i))).toString(36);
+            StringBuilder key = new StringBuilder(length);
+            for (int pad = digits.length(); pad < length; pad++) {
+                key.append('0');
+            }
+            key.append(digits);
+            // Trailing zeros do not change the value, and keys must not end with one
+            int end = key.length();
+            while (end > 1 && key.charAt(end - 1) == '0') {
+                end--;
+            }
+            keys.add(key.substring(0, end));
+        }
+        return keys;
+    }
+
+    // A key as an integer of length digits (the key padded with zeros)
+    private static BigInteger valueOf(String key, int length) {
+        if (key == null || key.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+        StringBuilder padded = new StringBuilder(length).append(key);
+        while (padded.length() < length) {
+            padded.append('0');
+        }
+        return new BigInteger(padded.toString(), 36);
+    }
+}
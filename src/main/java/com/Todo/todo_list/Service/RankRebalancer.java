@@ -0,0 +1,184 @@
+package com.Todo.todo_list.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Renumbers a user's rank keys to short, evenly spaced values. Users are queued
+ * when a move or insert produced a key longer than todo.rank.max-length or one
+ * another of their todos already holds (or when their todos have no rank yet), and
+ * handled by a background job one user at a time, in short batches; moves and
+ * inserts never renumber anything themselves.
+ */
+@Component
+public class RankRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(RankRebalancer.class);
+
+    // Batches in list order: todos without a rank first, then by rank. The ranked query
+    // fetches one row past the batch as its upper bound, locked so no move lands there
+    private static final String SELECT_UNRANKED = "SELECT id, sort_rank FROM todos "
+            + "WHERE user_id = ? AND sort_rank IS NULL ORDER BY created_at, id LIMIT ? FOR UPDATE";
+    private static final String SELECT_RANKED_AFTER = "SELECT id, sort_rank FROM todos "
+            + "WHERE user_id = ? AND sort_rank > ? ORDER BY sort_rank, created_at, id LIMIT ? FOR UPDATE";
+    private static final String COUNT_TODOS = "SELECT COUNT(*) FROM todos WHERE user_id = ?";
+
+    private static final String COUNT_RANK = "SELECT COUNT(*) FROM todos WHERE user_id = ? AND sort_rank = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    @Value("${todo.rank.max-length:24}")
+    private int maxLength;
+
+    @Value("${todo.rank.rebalance-batch-size:500}")
+    private int batchSize;
+
+    public RankRebalancer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    // Queue a user for renumbering
+    public void request(Long userId) {
+        pending.add(userId);
+    }
+
+    /**
+     * Queue the user if, once the current transaction has committed, another of their
+     * todos holds the same key. Keys come from neighbours read without locking the
+     * whole list, so duplicates are detected here instead of prevented.
+     */
+    public void requestIfDuplicated(Long userId, String rank) {
+        afterCommit(() -> {
+            Integer holders = jdbcTemplate.queryForObject(COUNT_RANK, Integer.class, userId, rank);
+            if (holders != null && holders > 1) {
+                log.debug("Rank key {} of user {} is held by {} todos", rank, userId, holders);
+                request(userId);
+            }
+        });
+    }
+
+    // Todos created before ranks existed (or imported) get ranks in their current order
+    @EventListener(ApplicationReadyEvent.class)
+    public void queueUnrankedUsers() {
+        pending.addAll(jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM todos WHERE sort_rank IS NULL",
+                Long.class));
+    }
+
+    @Scheduled(fixedDelayString = "${todo.rank.rebalance-interval-ms:5000}")
+    public void rebalancePending() {
+        for (Long userId : new ArrayList<>(pending)) {
+            pending.remove(userId);
+            try {
+                rebalance(userId);
+            } catch (RuntimeException e) {
+                log.warn("Rank rebalance failed for user {}", userId, e);
+            }
+        }
+    }
+
+    /**
+     * Renumber all todos of the user, keeping their order, in keyset batches of one
+     * short transaction each. A batch locks only its own rows and the row after it,
+     * and its new keys lie between the last key written and that row's current key,
+     * so the list is correctly ordered after every batch and writes to the rest of
+     * the list go on meanwhile. Each batch takes its slice of the evenly spaced keys
+     * for the whole list when the slice fits there, and spreads over the gap when it
+     * does not (the list changed since the count).
+     */
+    public void rebalance(Long userId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_TODOS, Long.class, userId);
+        List<String> targets = FractionalRank.evenlySpaced(count != null ? count.intValue() : 0);
+        Cursor cursor = new Cursor();
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> renumberBatch(userId, targets, cursor)))) {
+            // Next batch
+        }
+        log.debug("Rebalanced {} rank keys for user {}", cursor.renumbered, userId);
+    }
+
+    // Renumber the next batch after the cursor; false once the end of the list is reached
+    private boolean renumberBatch(Long userId, List<String> targets, Cursor cursor) {
+        List<RankedId> rows = new ArrayList<>(batchSize + 1);
+        if (cursor.unranked) {
+            rows.addAll(jdbcTemplate.query(SELECT_UNRANKED, RankedId.MAPPER, userId, batchSize));
+            cursor.unranked = rows.size() == batchSize;
+        }
+        // Keys written so far are all below the rest of the list, "" is below every key
+        int wanted = batchSize - rows.size();
+        List<RankedId> ranked = jdbcTemplate.query(SELECT_RANKED_AFTER, RankedId.MAPPER, userId,
+                cursor.last != null ? cursor.last : "", wanted + 1);
+        rows.addAll(ranked.subList(0, Math.min(wanted, ranked.size())));
+        String bound = ranked.size() > wanted ? ranked.get(wanted).rank() : null;
+        if (rows.isEmpty()) {
+            return false;
+        }
+
+        List<String> keys = keysFor(targets, cursor, rows.size(), bound);
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            batch.add(new Object[] { keys.get(i), rows.get(i).id() });
+        }
+        jdbcTemplate.batchUpdate("UPDATE todos SET sort_rank = ? WHERE id = ?", batch);
+        cursor.last = keys.get(keys.size() - 1);
+        cursor.renumbered += rows.size();
+        return bound != null || cursor.unranked;
+    }
+
+    private static List<String> keysFor(List<String> targets, Cursor cursor, int size, String bound) {
+        int from = cursor.renumbered;
+        if (from + size <= targets.size()) {
+            List<String> slice = targets.subList(from, from + size);
+            if ((cursor.last == null || cursor.last.compareTo(slice.get(0)) < 0)
+                    && (bound == null || slice.get(size - 1).compareTo(bound) < 0)) {
+                return slice;
+            }
+        }
+        return FractionalRank.evenlySpaced(cursor.last, bound, size);
+    }
+
+    // Progress of one rebalance: the last key written and how many rows have one
+    private static final class Cursor {
+        String last;
+        int renumbered;
+        boolean unranked = true;
+    }
+
+    private record RankedId(long id, String rank) {
+        static final RowMapper<RankedId> MAPPER = (rs, rowNum) -> new RankedId(rs.getLong(1), rs.getString(2));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
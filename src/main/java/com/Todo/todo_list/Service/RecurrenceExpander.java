@@ -0,0 +1,47 @@
+package com.Todo.todo_list.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expands recurrence rules into occurrence dates for a window, caching each
+ * (rule, window) expansion. An edited rule is a different key, so nothing has to
+ * be invalidated; stale entries simply age out of the LRU.
+ */
+@Component
+public class RecurrenceExpander {
+
+    private record Key(RecurrenceRule rule, LocalDate from, LocalDate to) {
+    }
+
+    private final Map<Key, List<LocalDate>> cache;
+
+    public RecurrenceExpander(@Value("${todo.recurrence.cache-size:10000}") int cacheSize) {
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<LocalDate>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public List<LocalDate> expand(RecurrenceRule rule, LocalDate from, LocalDate to) {
+        Key key = new Key(rule, from, to);
+        synchronized (cache) {
+            List<LocalDate> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<LocalDate> dates = List.copyOf(rule.expand(from, to));
+        synchronized (cache) {
+            cache.put(key, dates);
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,66 @@
+package com.Todo.todo_list.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * The recurrence of a todo: every interval days / weeks / months from the anchor
+ * (its due date) up to until (inclusive, open-ended when null). Value semantics,
+ * so it doubles as the expansion cache key.
+ */
+public record RecurrenceRule(Todo.Recurrence frequency, int interval, LocalDate anchor, LocalDate until) {
+
+    /**
+     * Rule of a recurring todo, null if the todo does not recur
+     */
+    public static RecurrenceRule of(Todo todo) {
+        if (todo.getRecurrence() == null || todo.getDate() == null) {
+            return null;
+        }
+        return new RecurrenceRule(todo.getRecurrence(), todo.getRecurrenceInterval(), todo.getDate(),
+                todo.getRecurrenceUntil());
+    }
+
+    /**
+     * Occurrence dates within [from, to], ascending. The first index is computed
+     * directly, so the cost depends only on the window, not on the anchor's age.
+     */
+    public List<LocalDate> expand(LocalDate from, LocalDate to) {
+        LocalDate end = until != null && until.isBefore(to) ? until : to;
+        List<LocalDate> dates = new ArrayList<>();
+        if (end.isBefore(anchor) || end.isBefore(from)) {
+            return dates;
+        }
+
+        long index = from.isAfter(anchor) ? firstIndexOnOrAfter(from) : 0;
+        for (LocalDate date = occurrence(index); !date.isAfter(end); date = occurrence(++index)) {
+            if (!date.isBefore(from)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    // Monthly occurrences are computed from the anchor each time so the 31st stays the 31st where it exists
+    private LocalDate occurrence(long index) {
+        return switch (frequency) {
+            case DAILY -> anchor.plusDays(index * interval);
+            case WEEKLY -> anchor.plusWeeks(index * interval);
+            case MONTHLY -> anchor.plusMonths(index * interval);
+        };
+    }
+
+    private long firstIndexOnOrAfter(LocalDate from) {
+        long elapsed = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(anchor, from);
+            case WEEKLY -> ChronoUnit.WEEKS.between(anchor, from);
+            case MONTHLY -> ChronoUnit.MONTHS.between(anchor, from);
+        };
+        // Rounded down, so at most one occurrence before the window is visited
+        return Math.max(0, elapsed / interval - 1);
+    }
+}
@@ -0,0 +1,140 @@
+package com.Todo.todo_list.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Todo.todo_list.Facets.TodoFacetIndex;
+import com.Todo.todo_list.Limits.UserLimits;
+
+/**
+ * Background job that moves todos completed longer than todo.archive.min-age-days
+ * from "todos" into "todos_archive". Candidates are walked in id order (keyset
+ * pagination on the status/id index) and each chunk is copied and deleted in its
+ * own short transaction, with a pause between chunks to leave room for OLTP traffic.
+ * Only standalone todos are archived; subtask trees stay in "todos" so roll-ups hold,
+ * and recurring todos stay with their stored exceptions.
+ */
+@Component
+public class TodoArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiver.class);
+
+    // Standalone, non-recurring todos only. Recurring sources and their stored exceptions stay:
+    // an archived exception would let the expander regenerate its date as an open occurrence.
+    private static final String ARCHIVABLE = "status = 'COMPLETED' AND parent_id IS NULL AND child_count = 0 "
+            + "AND recurrence IS NULL AND recurrence_source_id IS NULL";
+
+    private static final String SELECT_CANDIDATES = "SELECT id FROM todos WHERE " + ARCHIVABLE
+            + " AND updated_at < ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String COPY_TO_ARCHIVE = "INSERT INTO todos_archive "
+            + "(id, user_id, title, description, due_date, priority, completed, status, created_at, updated_at, "
+            + "archived_at) "
+            + "SELECT id, user_id, title, description, due_date, priority, completed, status, created_at, "
+            + "updated_at, :archivedAt "
+            + "FROM todos WHERE id IN (:ids) AND " + ARCHIVABLE + " AND updated_at < :cutoff";
+
+    // Same predicate as the copy, so a todo reopened meanwhile is neither copied nor deleted
+    private static final String DELETE_ARCHIVED = "DELETE FROM todos WHERE id IN (:ids) AND " + ARCHIVABLE
+            + " AND updated_at < :cutoff";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserLimits userLimits;
+    private final TodoFacetIndex facetIndex;
+
+    @Value("${todo.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.archive.min-age-days:30}")
+    private int minAgeDays;
+
+    @Value("${todo.archive.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${todo.archive.throttle-ms:200}")
+    private long throttleMs;
+
+    @Value("${todo.archive.max-chunks-per-run:500}")
+    private int maxChunksPerRun;
+
+    public TodoArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            UserLimits userLimits, TodoFacetIndex facetIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userLimits = userLimits;
+        this.facetIndex = facetIndex;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${todo.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${todo.archive.interval-ms:3600000}")
+    public void archiveCompletedTodos() {
+        if (!enabled) {
+            return;
+        }
+        archive(LocalDateTime.now().minusDays(minAgeDays));
+    }
+
+    /**
+     * Archive todos completed before the cutoff, returns the number of rows moved
+     */
+    public long archive(LocalDateTime cutoff) {
+        long moved = 0;
+        long lastId = 0;
+        Timestamp cutoffTs = Timestamp.valueOf(cutoff);
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_CANDIDATES, Long.class, cutoffTs, lastId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+
+            Integer count = transactionTemplate.execute(status -> {
+                Map<String, Object> params = Map.of("ids", ids, "cutoff", cutoffTs,
+                        "archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+                namedJdbcTemplate.update(COPY_TO_ARCHIVE, params);
+                return namedJdbcTemplate.update(DELETE_ARCHIVED, params);
+            });
+            moved += count != null ? count : 0;
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (moved > 0) {
+            log.info("Archived {} completed todos older than {}", moved, cutoff);
+            userLimits.invalidateAllTodoCounts();
+            facetIndex.invalidateAll();
+        }
+        return moved;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(throttleMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
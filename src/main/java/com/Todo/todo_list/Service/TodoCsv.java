@@ -0,0 +1,150 @@
+package com.Todo.todo_list.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * CSV layout shared by todo export and import (RFC 4180 quoting)
+ */
+final class TodoCsv {
+
+    static final String[] COLUMNS = {
+            "id", "title", "description", "date", "priority", "status", "completed", "createdAt", "updatedAt" };
+
+    private TodoCsv() {
+    }
+
+    static void writeHeader(Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+    }
+
+    static void writeRow(Writer writer, Todo todo) throws IOException {
+        writeField(writer, todo.getId());
+        writer.write(',');
+        writeField(writer, todo.getTitle());
+        writer.write(',');
+        writeField(writer, todo.getDescription());
+        writer.write(',');
+        writeField(writer, todo.getDate());
+        writer.write(',');
+        writeField(writer, todo.getPriority());
+        writer.write(',');
+        writeField(writer, todo.getStatus());
+        writer.write(',');
+        writeField(writer, todo.isCompleted());
+        writer.write(',');
+        writeField(writer, todo.getCreatedAt());
+        writer.write(',');
+        writeField(writer, todo.getUpdatedAt());
+        writer.write("\r\n");
+    }
+
+    private static void writeField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Incremental CSV record reader; quoted fields may contain separators and line breaks
+     */
+    static final class RecordReader {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private int pushedBack = -2;
+
+        RecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Read the next record, or null at end of input
+         */
+        String[] next() throws IOException {
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean sawAny = false;
+
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    if (!sawAny) {
+                        return null;
+                    }
+                    fields.add(field.toString());
+                    return fields.toArray(new String[0]);
+                }
+                sawAny = true;
+
+                if (quoted) {
+                    if (c == '"') {
+                        int nextChar = read();
+                        if (nextChar == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(nextChar);
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int nextChar = read();
+                        if (nextChar != '\n') {
+                            unread(nextChar);
+                        }
+                    }
+                    fields.add(field.toString());
+                    return fields.toArray(new String[0]);
+                } else {
+                    field.append((char) c);
+                }
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private void unread(int c) {
+            pushedBack = c;
+        }
+    }
+}
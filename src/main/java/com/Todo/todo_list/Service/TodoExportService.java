@@ -0,0 +1,133 @@
+package com.Todo.todo_list.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Todo.todo_list.Dto.TodoView;
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Repository.TodoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Streams a user's todos straight from a database cursor to an output stream.
+ * Each entity is detached once written, so heap use does not depend on list size.
+ */
+@Service
+public class TodoExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    // Serializer lookup is done once here instead of per element
+    private final ObjectWriter todoViewWriter;
+
+    public TodoExportService(TodoRepository todoRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.todoViewWriter = objectMapper.writerFor(TodoView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write all todos of the user to the stream, returns the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(User user, Format format, OutputStream out) throws IOException {
+        try (Stream<Todo> todos = todoRepository.streamByUser(user)) {
+            return format == Format.CSV ? writeCsv(todos.iterator(), out) : writeNdjson(todos.iterator(), out);
+        }
+    }
+
+    /**
+     * Write all todos of the user as a {"success":true,"todos":[...]} document, newest
+     * first like the unfiltered todo list, returns the number of todos written
+     */
+    @Transactional(readOnly = true)
+    public long writeJsonList(User user, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Todo> todos = todoRepository.streamByUserNewestFirst(user);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeArrayFieldStart("todos");
+            Iterator<Todo> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                Todo todo = iterator.next();
+                todoViewWriter.writeValue(generator, TodoView.from(todo));
+                entityManager.detach(todo);
+                count++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Todo> todos, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (todos.hasNext()) {
+                Todo todo = todos.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", todo.getId());
+                generator.writeStringField("title", todo.getTitle());
+                generator.writeStringField("description", todo.getDescription());
+                writeStringField(generator, "date", todo.getDate());
+                writeStringField(generator, "priority", todo.getPriority());
+                writeStringField(generator, "status", todo.getStatus());
+                generator.writeBooleanField("completed", todo.isCompleted());
+                writeStringField(generator, "createdAt", todo.getCreatedAt());
+                writeStringField(generator, "updatedAt", todo.getUpdatedAt());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                entityManager.detach(todo);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Todo> todos, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TodoCsv.writeHeader(writer);
+        while (todos.hasNext()) {
+            Todo todo = todos.next();
+            TodoCsv.writeRow(writer, todo);
+            entityManager.detach(todo);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeStringField(JsonGenerator generator, String name, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeStringField(name, value.toString());
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.Todo.todo_list.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Todo.todo_list.Analytics.ActivityRollups;
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Facets.TodoFacetIndex;
+import com.Todo.todo_list.Journal.MutationJournal;
+import com.Todo.todo_list.Limits.UserLimits;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Imports todos from an NDJSON or CSV request body. Rows are parsed one at a time,
+ * validated against the entity constraints and written in fixed-size transactions,
+ * so only one chunk is ever held in memory. Reading the body only as fast as rows
+ * are committed gives natural backpressure to the client.
+ * <p>
+ * An import is not atomic: every chunk commits on its own, and a failure part way
+ * (a broken upload, a database error) leaves the chunks before it in place. The
+ * result and {@link ImportFailedException} report the last row of the last committed
+ * chunk; sending the same body again with startAfterRow set to it skips the rows
+ * already imported.
+ */
+@Service
+public class TodoImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoImportService.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final UserLimits userLimits;
+    private final TodoFacetIndex facetIndex;
+    private final RankRebalancer rankRebalancer;
+    private final ActivityRollups activityRollups;
+    private final MutationJournal journal;
+
+    @Value("${todo.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${todo.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public TodoImportService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+            Validator validator, ObjectMapper objectMapper, UserLimits userLimits, TodoFacetIndex facetIndex,
+            RankRebalancer rankRebalancer, ActivityRollups activityRollups, MutationJournal journal) {
+        this.entityManager = entityManager;
+        this.userLimits = userLimits;
+        this.facetIndex = facetIndex;
+        this.rankRebalancer = rankRebalancer;
+        this.activityRollups = activityRollups;
+        this.journal = journal;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(ImportRow.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Import the rows after startAfterRow (0 for all) from the stream for the user. Rows
+     * are numbered as in the reported errors: lines for NDJSON, records counting the
+     * header for CSV.
+     */
+    public ImportResult importTodos(User user, TodoExportService.Format format, InputStream in,
+            long startAfterRow) {
+        ImportRun run = new ImportRun(user.getId(), startAfterRow);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        try {
+            if (format == TodoExportService.Format.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+            run.flush();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import failed for user {} after {} imported rows, committed through row {}", user.getId(),
+                    run.imported, run.lastCommittedRow, e);
+            throw new ImportFailedException(run.result(), e);
+        } finally {
+            run.discard();
+            if (run.imported > 0) {
+                // Imported rows have no rank yet; they are appended in import order
+                rankRebalancer.request(user.getId());
+            }
+        }
+
+        log.info("Import finished for user {}: {} imported, {} failed in {} chunks",
+                user.getId(), run.imported, run.failed, run.chunks);
+        return run.result();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber <= run.startAfterRow || line.isBlank()) {
+                continue;
+            }
+            ImportRow row;
+            try {
+                row = rowReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(lineNumber, row);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        TodoCsv.RecordReader records = new TodoCsv.RecordReader(reader);
+        String[] header = records.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim(), i);
+        }
+
+        String[] record;
+        long rowNumber = 1;
+        while ((record = records.next()) != null) {
+            rowNumber++;
+            if (rowNumber <= run.startAfterRow || record.length == 1 && record[0].isEmpty()) {
+                continue;
+            }
+            ImportRow row = new ImportRow();
+            row.setTitle(column(record, columns, "title"));
+            row.setDescription(column(record, columns, "description"));
+            row.setDate(column(record, columns, "date"));
+            row.setPriority(column(record, columns, "priority"));
+            row.setStatus(column(record, columns, "status"));
+            row.setCompleted(Boolean.parseBoolean(column(record, columns, "completed")));
+            run.accept(rowNumber, row);
+        }
+    }
+
+    private static String column(String[] record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.length || record[index].isEmpty()) {
+            return null;
+        }
+        return record[index];
+    }
+
+    /**
+     * State of one import: the pending chunk plus running totals
+     */
+    private class ImportRun {
+        private final Long userId;
+        private final long startAfterRow;
+        private final List<Todo> pending = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+        private int chunks;
+        // Row number of the last row in the pending chunk, and in the last committed one
+        private long pendingLastRow;
+        private long lastCommittedRow;
+
+        ImportRun(Long userId, long startAfterRow) {
+            this.userId = userId;
+            this.startAfterRow = startAfterRow;
+            this.lastCommittedRow = startAfterRow;
+        }
+
+        ImportResult result() {
+            return new ImportResult(imported, failed, chunks, lastCommittedRow, errors);
+        }
+
+        void accept(long rowNumber, ImportRow row) {
+            Todo todo;
+            try {
+                todo = toTodo(row);
+            } catch (IllegalArgumentException e) {
+                reject(rowNumber, e.getMessage());
+                return;
+            }
+
+            Set<ConstraintViolation<Todo>> violations = validator.validate(todo);
+            if (!violations.isEmpty()) {
+                reject(rowNumber, violations.iterator().next().getMessage());
+                return;
+            }
+
+            // Reserved row by row, so a concurrent create or import shares the same quota
+            if (!userLimits.tryReserveTodos(userId, 1)) {
+                reject(rowNumber, "Todo quota exceeded");
+                return;
+            }
+
+            pending.add(todo);
+            pendingLastRow = rowNumber;
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(rowNumber, message));
+            }
+        }
+
+        // Rows reserved but never written (failed chunk or aborted read) give their quota back
+        void discard() {
+            if (!pending.isEmpty()) {
+                userLimits.releaseTodos(userId, pending.size());
+                pending.clear();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    User owner = entityManager.getReference(User.class, userId);
+                    for (Todo todo : pending) {
+                        todo.setUser(owner);
+                        entityManager.persist(todo);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            } catch (RuntimeException e) {
+                discard();
+                throw e;
+            }
+            facetIndex.invalidate(userId);
+            activityRollups.onTodosCreated(userId, pending.size(),
+                    pending.stream().filter(Todo::isCompleted).count());
+            pending.forEach(todo -> journal.onTodoSaved(todo, true));
+            imported += pending.size();
+            chunks++;
+            lastCommittedRow = pendingLastRow;
+            pending.clear();
+            log.debug("Import progress for user {}: {} imported, {} failed", userId, imported, failed);
+        }
+    }
+
+    private static Todo toTodo(ImportRow row) {
+        Todo todo = new Todo();
+        todo.setTitle(row.getTitle());
+        todo.setDescription(row.getDescription());
+        todo.setDateFromString(row.getDate());
+        if (row.getPriority() != null) {
+            todo.setPriority(parseEnum(Todo.Priority.class, row.getPriority(), "priority"));
+        }
+        if (row.getStatus() != null) {
+            todo.setStatus(parseEnum(Todo.Status.class, row.getStatus(), "status"));
+        }
+        todo.setCompleted(todo.getStatus() == Todo.Status.COMPLETED || row.isCompleted());
+        return todo;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    public record RowError(long row, String message) {
+    }
+
+    // lastCommittedRow: rows up to this one are imported or were rejected
+    public record ImportResult(long imported, long failed, int chunks, long lastCommittedRow,
+            List<RowError> errors) {
+    }
+
+    /**
+     * An import that stopped part way, with what it committed before the failure
+     */
+    public static class ImportFailedException extends RuntimeException {
+
+        private final transient ImportResult result;
+
+        public ImportFailedException(ImportResult result, Throwable cause) {
+            super(cause.getMessage(), cause);
+            this.result = result;
+        }
+
+        public ImportResult getResult() {
+            return result;
+        }
+    }
+
+    // One incoming row, in the same shape as the export
+    public static class ImportRow {
+        private String title;
+        private String description;
+        private String date;
+        private String priority;
+        private String status;
+        private boolean completed;
+
+        // Getters and setters
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getDate() {
+            return date;
+        }
+
+        public void setDate(String date) {
+            this.date = date;
+        }
+
+        public String getPriority() {
+            return priority;
+        }
+
+        public void setPriority(String priority) {
+            this.priority = priority;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(boolean completed) {
+            this.completed = completed;
+        }
+    }
+}
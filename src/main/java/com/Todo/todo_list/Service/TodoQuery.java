@@ -0,0 +1,120 @@
+package com.Todo.todo_list.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Repository.TodoSpecifications;
+
+/**
+ * Server-side filter and sort for the todo list. All parts are optional and are
+ * combined into one query; sorting is limited to orders an index can serve.
+ */
+public record TodoQuery(Todo.Status status, Todo.Priority priority, Boolean completed, String q, SortOrder sort) {
+
+    /**
+     * Accepted sort parameters, each backed by a (user_id, column) index.
+     * id is the tie-breaker so pages are stable.
+     */
+    public enum SortOrder {
+        CREATED_DESC("createdAt,desc", Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")),
+                "idx_todos_user_created"),
+        CREATED_ASC("createdAt,asc", Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id")),
+                "idx_todos_user_created"),
+        DATE_ASC("date,asc", Sort.by(Sort.Order.asc("date"), Sort.Order.asc("id")), "idx_todos_user_due_date"),
+        DATE_DESC("date,desc", Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id")), "idx_todos_user_due_date"),
+        RANK_ASC("rank,asc", Sort.by(Sort.Order.asc("rank"), Sort.Order.asc("id")), "idx_todos_user_rank");
+
+        private final String parameter;
+        private final Sort sort;
+        private final String index;
+
+        SortOrder(String parameter, Sort sort, String index) {
+            this.parameter = parameter;
+            this.sort = sort;
+            this.index = index;
+        }
+
+        public Sort getSort() {
+            return sort;
+        }
+
+        public static SortOrder fromParameter(String value) {
+            if (value == null || value.isBlank()) {
+                return CREATED_DESC;
+            }
+            String normalized = value.trim().contains(",") ? value.trim() : value.trim() + ",asc";
+            for (SortOrder order : values()) {
+                if (order.parameter.equalsIgnoreCase(normalized)) {
+                    return order;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + value + " (allowed: "
+                    + String.join(", ", Arrays.stream(values()).map(o -> o.parameter).toList()) + ")");
+        }
+    }
+
+    /**
+     * Parse the request parameters, throws IllegalArgumentException for unknown values
+     */
+    public static TodoQuery of(String status, String priority, Boolean completed, String q, String sort) {
+        return new TodoQuery(
+                status == null || status.isBlank() ? null : Todo.Status.valueOf(status.trim().toUpperCase(Locale.ROOT)),
+                priority == null || priority.isBlank() ? null
+                        : Todo.Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT)),
+                completed,
+                q == null || q.isBlank() ? null : q.trim(),
+                SortOrder.fromParameter(sort));
+    }
+
+    public Specification<Todo> toSpecification(User user) {
+        Specification<Todo> spec = TodoSpecifications.ownedBy(user);
+        if (status != null) {
+            spec = spec.and(TodoSpecifications.hasStatus(status));
+        }
+        if (priority != null) {
+            spec = spec.and(TodoSpecifications.hasPriority(priority));
+        }
+        if (completed != null) {
+            spec = spec.and(TodoSpecifications.isCompleted(completed));
+        }
+        if (q != null) {
+            spec = spec.and(TodoSpecifications.matches(q));
+        }
+        return spec;
+    }
+
+    /**
+     * Which index is expected to drive the query and which predicates are applied
+     * to the rows it returns (debug output of the list endpoint)
+     */
+    public Map<String, Object> planHint() {
+        List<String> residual = new ArrayList<>();
+        if (status != null) {
+            residual.add("status = " + status);
+        }
+        if (priority != null) {
+            residual.add("priority = " + priority);
+        }
+        if (completed != null) {
+            residual.add("completed = " + completed);
+        }
+        if (q != null) {
+            residual.add("title/description LIKE (full scan of the user's rows)");
+        }
+        Map<String, Object> hint = new LinkedHashMap<>();
+        hint.put("index", sort.index);
+        hint.put("access", "range scan on user_id, rows returned in " + sort.parameter + " order");
+        hint.put("residualFilters", residual);
+        hint.put("sort", sort.parameter);
+        return hint;
+    }
+}
@@ -1,24 +1,68 @@
 package com.Todo.todo_list.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.Todo.todo_list.Analytics.ActivityRollups;
+import com.Todo.todo_list.Dto.Occurrence;
+import com.Todo.todo_list.Dto.TodoFields;
+import com.Todo.todo_list.Dto.TodoNode;
 import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.TodoArchive;
 import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Facets.FacetCounts;
+import com.Todo.todo_list.Facets.FacetSelection;
+import com.Todo.todo_list.Facets.TodoFacetIndex;
+import com.Todo.todo_list.Journal.MutationJournal;
+import com.Todo.todo_list.Limits.UserLimits;
+import com.Todo.todo_list.Monitoring.Traced;
+import com.Todo.todo_list.Reminder.ReminderScheduler;
+import com.Todo.todo_list.Repository.TodoArchiveRepository;
 import com.Todo.todo_list.Repository.TodoRepository;
+import com.Todo.todo_list.Repository.TodoSpecifications;
 
 @Service
 @Transactional
+@Traced
 public class TodoServices {
 
     private final TodoRepository todoRepository;
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final ReminderScheduler reminderScheduler;
+    private final UserLimits userLimits;
+    private final TodoFacetIndex facetIndex;
+    private final RankRebalancer rankRebalancer;
+    private final RecurrenceExpander recurrenceExpander;
+    private final ActivityRollups activityRollups;
+    private final MutationJournal journal;
 
     // Constructor injection
-    public TodoServices(TodoRepository todoRepository) {
+    public TodoServices(TodoRepository todoRepository, TodoArchiveRepository todoArchiveRepository,
+            ReminderScheduler reminderScheduler, UserLimits userLimits, TodoFacetIndex facetIndex,
+            RankRebalancer rankRebalancer, RecurrenceExpander recurrenceExpander, ActivityRollups activityRollups,
+            MutationJournal journal) {
         this.todoRepository = todoRepository;
+        this.todoArchiveRepository = todoArchiveRepository;
+        this.reminderScheduler = reminderScheduler;
+        this.userLimits = userLimits;
+        this.facetIndex = facetIndex;
+        this.rankRebalancer = rankRebalancer;
+        this.recurrenceExpander = recurrenceExpander;
+        this.activityRollups = activityRollups;
+        this.journal = journal;
     }
 
     // User-specific methods
@@ -26,11 +70,79 @@ public class TodoServices {
         return todoRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
+    // Filtered and sorted list built as a single query
+    public List<Todo> findByQuery(User user, TodoQuery query) {
+        return todoRepository.findAll(query.toSpecification(user), query.sort().getSort());
+    }
+
+    // Same list with only the columns behind the requested fields selected
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findByQuery(User user, TodoQuery query, TodoFields fields) {
+        return todoRepository.findAttributes(query.toSpecification(user), query.sort().getSort(), fields.attributes())
+                .stream().map(fields::toJson).toList();
+    }
+
     public Todo findByIdAndUser(Long id, User user) {
         Optional<Todo> todo = todoRepository.findByIdAndUser(id, user);
         return todo.orElse(null);
     }
 
+    // A todo and its subtasks down to maxDepth levels, null if the root is not the user's
+    @Transactional(readOnly = true)
+    public TodoNode findSubtree(User user, Long id, int maxDepth) {
+        return TodoNode.build(todoRepository.findSubtree(id, user.getId(), maxDepth));
+    }
+
+    /**
+     * Occurrences of the user's recurring todos in [from, to], ordered by date. Dates
+     * are expanded from the rules at read time; stored exceptions replace the
+     * generated occurrence for their date.
+     */
+    @Transactional(readOnly = true)
+    public List<Occurrence> findOccurrences(User user, LocalDate from, LocalDate to) {
+        List<Todo> recurring = todoRepository.findRecurringInWindow(user, from, to);
+        if (recurring.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Map<LocalDate, Todo>> exceptions = new HashMap<>();
+        for (Todo exception : todoRepository.findByRecurrenceSourceIdInAndOccurrenceDateBetween(
+                recurring.stream().map(Todo::getId).toList(), from, to)) {
+            exceptions.computeIfAbsent(exception.getRecurrenceSourceId(), id -> new HashMap<>())
+                    .put(exception.getOccurrenceDate(), exception);
+        }
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (Todo source : recurring) {
+            Map<LocalDate, Todo> stored = exceptions.getOrDefault(source.getId(), Map.of());
+            for (LocalDate date : recurrenceExpander.expand(RecurrenceRule.of(source), from, to)) {
+                Todo exception = stored.get(date);
+                occurrences.add(exception != null ? Occurrence.stored(exception)
+                        : Occurrence.generated(source, date));
+            }
+        }
+        occurrences.sort(Comparator.comparing(Occurrence::date).thenComparing(Occurrence::sourceId));
+        return occurrences;
+    }
+
+    /**
+     * The stored exception for one occurrence of a recurring todo: the existing row,
+     * or a new unsaved copy of the source for that date
+     */
+    public Todo findOrCreateOccurrence(Todo source, LocalDate date) {
+        RecurrenceRule rule = RecurrenceRule.of(source);
+        if (rule == null || rule.expand(date, date).isEmpty()) {
+            throw new IllegalArgumentException("No occurrence on " + date);
+        }
+        return todoRepository.findByRecurrenceSourceIdAndOccurrenceDate(source.getId(), date).orElseGet(() -> {
+            Todo exception = new Todo(source.getTitle(), source.getDescription(), date, source.getUser());
+            exception.setPriority(source.getPriority());
+            exception.setRecurrenceSourceId(source.getId());
+            exception.setOccurrenceDate(date);
+            return exception;
+        });
+    }
+
     public List<Todo> findByUserAndCompleted(User user, boolean completed) {
         return todoRepository.findByUserAndCompleted(user, completed);
     }
@@ -43,6 +155,18 @@ public class TodoServices {
         return todoRepository.findByUserAndPriority(user, priority);
     }
 
+    public List<Todo> findDueBetween(User user, LocalDate from, LocalDate to) {
+        return todoRepository.findByUserAndDateBetweenOrderByDateAsc(user, from, to);
+    }
+
+    public List<Todo> findOverdue(User user, LocalDate today) {
+        return todoRepository.findByUserAndCompletedFalseAndDateBeforeOrderByDateAsc(user, today);
+    }
+
+    public List<Todo> findByUserOrderByDueDate(User user, Pageable pageable) {
+        return todoRepository.findByUserAndDateIsNotNullOrderByDateAsc(user, pageable);
+    }
+
     public List<Todo> searchTodos(User user, String searchTerm) {
         return todoRepository.findByUserAndTitleOrDescriptionContaining(user, searchTerm);
     }
@@ -55,6 +179,46 @@ public class TodoServices {
         return todoRepository.countByUserAndStatus(user, status);
     }
 
+    // Facet counts from the in-memory index, or one count query per facet value when it is disabled
+    @Transactional(readOnly = true)
+    public FacetCounts countFacets(User user, FacetSelection selection) {
+        if (facetIndex.isEnabled()) {
+            return facetIndex.query(user.getId(), selection);
+        }
+
+        Specification<Todo> matching = TodoSpecifications.ownedBy(user);
+        if (!selection.statuses().isEmpty()) {
+            matching = matching.and(TodoSpecifications.statusIn(selection.statuses()));
+        }
+        if (!selection.priorities().isEmpty()) {
+            matching = matching.and(TodoSpecifications.priorityIn(selection.priorities()));
+        }
+        if (selection.completed().size() == 1) {
+            matching = matching.and(TodoSpecifications.isCompleted(selection.completed().iterator().next()));
+        }
+
+        Map<Todo.Status, Long> statusCounts = new EnumMap<>(Todo.Status.class);
+        for (Todo.Status status : Todo.Status.values()) {
+            statusCounts.put(status, todoRepository.count(matching.and(TodoSpecifications.hasStatus(status))));
+        }
+        Map<Todo.Priority, Long> priorityCounts = new EnumMap<>(Todo.Priority.class);
+        for (Todo.Priority priority : Todo.Priority.values()) {
+            priorityCounts.put(priority, todoRepository.count(matching.and(TodoSpecifications.hasPriority(priority))));
+        }
+        Map<Boolean, Long> completedCounts = new LinkedHashMap<>();
+        completedCounts.put(Boolean.TRUE, todoRepository.count(matching.and(TodoSpecifications.isCompleted(true))));
+        completedCounts.put(Boolean.FALSE, todoRepository.count(matching.and(TodoSpecifications.isCompleted(false))));
+
+        return new FacetCounts(todoRepository.countByUserId(user.getId()), todoRepository.count(matching),
+                statusCounts, priorityCounts, completedCounts, "database");
+    }
+
+    // Archive read path (opt-in, the hot list never includes archived todos)
+    @Transactional(readOnly = true)
+    public Page<TodoArchive> findArchivedByUser(User user, Pageable pageable) {
+        return todoArchiveRepository.findByUserIdOrderByUpdatedAtDesc(user.getId(), pageable);
+    }
+
     // Legacy methods (for backward compatibility)
     public List<Todo> findByCompleted() {
         return todoRepository.findAll();
@@ -65,11 +229,147 @@ public class TodoServices {
     }
 
     public Todo save(Todo todo) {
-        return todoRepository.save(todo);
+        boolean created = todo.getId() == null;
+        if (created && todo.getRank() == null && todo.getUser() != null) {
+            // New todos go to the end of the manual ordering
+            Long userId = todo.getUser().getId();
+            todo.setRank(FractionalRank.between(todoRepository.findMaxRank(userId), null));
+            requestRebalanceIfLong(userId, todo.getRank());
+        }
+        if (created && todo.getUser() != null) {
+            // Every insert (create, subtask, occurrence exception) takes a quota slot
+            userLimits.reserveTodo(todo.getUser().getId());
+            if (todo.getRank() != null) {
+                // The maximum rank is read without a lock, so a concurrent create can take the same key
+                rankRebalancer.requestIfDuplicated(todo.getUser().getId(), todo.getRank());
+            }
+        }
+        Todo saved = todoRepository.save(todo);
+        if (saved.getParentId() != null) {
+            if (created) {
+                todoRepository.adjustChildCounts(saved.getParentId(), 1, saved.isCompleted() ? 1 : 0);
+            } else if (saved.isCompleted() != saved.isCompletedAtLoad()) {
+                todoRepository.adjustChildCounts(saved.getParentId(), 0, saved.isCompleted() ? 1 : -1);
+            }
+        }
+        boolean completionChanged = !created && saved.isCompleted() != saved.isCompletedAtLoad();
+        saved.setCompletedAtLoad(saved.isCompleted());
+        // In-memory views (reminders, facets, journal, rollups) apply these after commit
+        reminderScheduler.onTodoSaved(saved);
+        facetIndex.onTodoSaved(saved);
+        journal.onTodoSaved(saved, created);
+        if (saved.getUser() != null) {
+            Long userId = saved.getUser().getId();
+            if (created) {
+                activityRollups.onTodosCreated(userId, 1, saved.isCompleted() ? 1 : 0);
+            } else if (completionChanged) {
+                activityRollups.onTodoCompletionChanged(userId, saved.isCompleted());
+            } else {
+                activityRollups.onTodoUpdated(userId);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Move a todo between two others of the same user (either may be null for the
+     * start or end of the list) by writing a new rank for the moved row only.
+     * Returns the new rank key.
+     */
+    public String move(Todo todo, Long afterId, Long beforeId) {
+        if (afterId == null && beforeId == null) {
+            throw new IllegalArgumentException("afterId or beforeId is required");
+        }
+        if (todo.getId().equals(afterId) || todo.getId().equals(beforeId)) {
+            throw new IllegalArgumentException("A todo cannot be moved next to itself");
+        }
+        User user = todo.getUser();
+        Todo after = afterId != null ? lockRanked(afterId, user) : null;
+        Todo before = beforeId != null ? lockRanked(beforeId, user) : null;
+
+        // The todo currently next to `after` (or before `before`), read once the given
+        // neighbours are locked: a move into the same gap that held the locks first has
+        // filled it, and placing this one between its new neighbours keeps both keys apart
+        if (after != null) {
+            Todo next = todoRepository.findFirstByUserAndRankGreaterThanOrderByRankAsc(user, after.getRank())
+                    .orElse(null);
+            if (before == null || (next != null && next.getRank().compareTo(before.getRank()) < 0)) {
+                before = next;
+            }
+        } else {
+            after = todoRepository.findFirstByUserAndRankLessThanOrderByRankDesc(user, before.getRank())
+                    .orElse(null);
+        }
+        if ((after != null && after.getId().equals(todo.getId()))
+                || (before != null && before.getId().equals(todo.getId()))) {
+            return todo.getRank();
+        }
+        if (after != null && before != null && after.getRank().equals(before.getRank())) {
+            // Duplicate keys leave no room between them until the list is renumbered
+            rankRebalancer.request(user.getId());
+            throw new IllegalStateException("List ordering is being prepared, try again shortly");
+        }
+
+        String rank = FractionalRank.between(after != null ? after.getRank() : null,
+                before != null ? before.getRank() : null);
+        todoRepository.updateRank(todo.getId(), rank);
+        // Not written back by a later flush (sort_rank is not updatable), keeps the journal record current
+        todo.setRank(rank);
+        journal.onTodoSaved(todo, false);
+        requestRebalanceIfLong(user.getId(), rank);
+        // Neighbours given without each other are locked separately, so two moves into
+        // the same gap from either side can still compute the same key
+        rankRebalancer.requestIfDuplicated(user.getId(), rank);
+        return rank;
+    }
+
+    private Todo lockRanked(Long id, User user) {
+        Todo todo = todoRepository.findByIdAndUserForUpdate(id, user)
+                .orElseThrow(() -> new IllegalArgumentException("Todo " + id + " not found"));
+        if (todo.getRank() == null) {
+            rankRebalancer.request(user.getId());
+            throw new IllegalStateException("List ordering is being prepared, try again shortly");
+        }
+        return todo;
+    }
+
+    private void requestRebalanceIfLong(Long userId, String rank) {
+        if (rank.length() > rankRebalancer.getMaxLength()) {
+            rankRebalancer.request(userId);
+        }
+    }
+
+    public void delete(Todo todo) {
+        if (todo.getChildCount() > 0) {
+            throw new IllegalStateException("Todo has subtasks, delete them first");
+        }
+        todoRepository.delete(todo);
+        if (todo.getRecurrence() != null) {
+            List<Long> exceptionIds = todoRepository.findIdsByRecurrenceSourceId(todo.getId());
+            if (!exceptionIds.isEmpty()) {
+                todoRepository.deleteByRecurrenceSourceId(todo.getId());
+                reminderScheduler.onTodosDeleted(exceptionIds);
+                if (todo.getUser() != null) {
+                    userLimits.invalidateTodoCount(todo.getUser().getId());
+                    facetIndex.onTodosRemoved(todo.getUser().getId());
+                }
+            }
+        }
+        if (todo.getParentId() != null) {
+            todoRepository.adjustChildCounts(todo.getParentId(), -1, todo.isCompletedAtLoad() ? -1 : 0);
+        }
+        reminderScheduler.onTodoDeleted(todo.getId());
+        journal.onTodoDeleted(todo);
+        if (todo.getUser() != null) {
+            userLimits.onTodoDeleted(todo.getUser().getId());
+            facetIndex.onTodoDeleted(todo.getUser().getId(), todo.getId());
+            activityRollups.onTodoDeleted(todo.getUser().getId());
+        }
     }
 
+    // Loads the todo so that roll-ups and the owner's caches are updated like delete()
     public void deleteById(Long id) {
-        todoRepository.deleteById(id);
+        todoRepository.findById(id).ifPresent(this::delete);
     }
 
     public Optional<Todo> findById(Long id) {
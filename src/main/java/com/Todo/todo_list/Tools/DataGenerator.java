@@ -0,0 +1,441 @@
+package com.Todo.todo_list.Tools;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Generates users and todos for benchmarks, bypassing the services: one BCrypt hash
+ * is shared by all generated users and rows go in through batched JDBC inserts
+ * (mode=jdbc) or are written as CSV files for the database's bulk loader
+ * (mode=csv, the load statements are printed at the end).
+ * <p>
+ * Users are split into ranges across threads. Every user draws from its own random
+ * stream derived from the seed and its index, so the data is the same for any
+ * thread count. Ids, usernames and emails continue after the existing users (mode=jdbc)
+ * or start at first-user-id (mode=csv), so runs can be repeated against one database.
+ * Options (all name=value):
+ * <pre>
+ * url=jdbc:h2:file:./data/todolist  user=sa  password=       database connection (mode=jdbc)
+ * mode=jdbc|csv  out=./data/generated  first-user-id=1         csv output directory and first id
+ * users=100000  threads=&lt;cores&gt;  batch=1000  seed=42
+ * todos=pareto:1.2:10:5000 | uniform:0:200 | fixed:50         todos per user
+ * status=PENDING:50,IN_PROGRESS:20,COMPLETED:25,CANCELLED:5
+ * priority=LOW:30,MEDIUM:50,HIGH:20
+ * title=10:60  description=0:300  due=70                       text lengths, % of todos with a due date
+ * now=2026-01-01T00:00                                         reference time (default: current time)
+ * </pre>
+ * Run from the packaged application with
+ * java -cp app.jar -Dloader.main=com.Todo.todo_list.Tools.DataGenerator
+ * org.springframework.boot.loader.launch.PropertiesLauncher users=1000000 ...
+ * For MySQL add rewriteBatchedStatements=true to the URL.
+ */
+public final class DataGenerator {
+
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(id, username, email, password, first_name, last_name, is_active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?)";
+
+    private static final String INSERT_TODO = "INSERT INTO todos "
+            + "(title, description, due_date, priority, completed, status, created_at, updated_at, user_id, "
+            + "sort_rank, child_count, completed_child_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+
+    // NULL marker of the CSV files, understood by LOAD DATA and by CSVREAD with null=\N
+    private static final String NULL = "\\N";
+
+    private static final String[] WORDS = { "call", "email", "buy", "review", "plan", "fix", "write", "read",
+            "book", "pay", "send", "clean", "prepare", "update", "check", "order", "schedule", "finish", "draft",
+            "report", "meeting", "invoice", "groceries", "dentist", "project", "budget", "slides", "release",
+            "notes", "garden", "car", "tickets", "team", "client", "backup", "taxes", "gift", "trip", "docs" };
+
+    private static final String[] FIRST_NAMES = { "Alex", "Sam", "Kim", "Jordan", "Taylor", "Robin", "Chris",
+            "Jamie", "Morgan", "Casey", "Avery", "Riley" };
+
+    private static final String[] LAST_NAMES = { "Smith", "Lee", "Garcia", "Chen", "Novak", "Khan", "Silva",
+            "Muller", "Rossi", "Kowalski", "Tanaka", "Okafor" };
+
+    private final Map<String, String> options;
+    private final long seed;
+    private final int batch;
+    private final Distribution todosPerUser;
+    private final Weighted status;
+    private final Weighted priority;
+    private final int[] titleLength;
+    private final int[] descriptionLength;
+    private final int duePercent;
+    private final String passwordHash;
+    private final LocalDateTime now;
+
+    private final AtomicLong usersWritten = new AtomicLong();
+    private final AtomicLong todosWritten = new AtomicLong();
+
+    private DataGenerator(Map<String, String> options) {
+        this.options = options;
+        this.seed = Long.parseLong(option("seed", "42"));
+        this.batch = Integer.parseInt(option("batch", "1000"));
+        this.todosPerUser = Distribution.parse(option("todos", "pareto:1.2:10:5000"));
+        this.status = Weighted.parse(option("status", "PENDING:50,IN_PROGRESS:20,COMPLETED:25,CANCELLED:5"));
+        this.priority = Weighted.parse(option("priority", "LOW:30,MEDIUM:50,HIGH:20"));
+        this.titleLength = range(option("title", "10:60"));
+        this.descriptionLength = range(option("description", "0:300"));
+        this.duePercent = Integer.parseInt(option("due", "70"));
+        this.passwordHash = new BCryptPasswordEncoder().encode(option("user-password", "password"));
+        this.now = options.containsKey("now") ? LocalDateTime.parse(options.get("now"))
+                : LocalDateTime.now().withNano(0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq).replaceFirst("^--", ""), arg.substring(eq + 1));
+        }
+        new DataGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        long users = Long.parseLong(option("users", "100000"));
+        int threads = Integer.parseInt(option("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+        boolean csv = "csv".equalsIgnoreCase(option("mode", "jdbc"));
+        Path out = Path.of(option("out", "./data/generated"));
+
+        long firstId = csv ? Long.parseLong(option("first-user-id", "1")) : nextUserId();
+        System.out.printf(Locale.ROOT, "Generating %d users from id %d on %d threads (%s)%n", users, firstId, threads,
+                csv ? "csv to " + out.toAbsolutePath() : "jdbc");
+        if (csv) {
+            Files.createDirectories(out);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<?>> parts = new ArrayList<>();
+        long perThread = (users + threads - 1) / threads;
+        for (int t = 0; t < threads; t++) {
+            long from = t * perThread;
+            long to = Math.min(users, from + perThread);
+            if (from >= to) {
+                break;
+            }
+            int part = t;
+            parts.add(executor.submit(() -> {
+                if (csv) {
+                    writeCsv(out, part, firstId, from, to);
+                } else {
+                    insert(firstId, from, to);
+                }
+                return null;
+            }));
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            progress(start);
+        }
+        for (Future<?> part : parts) {
+            part.get();
+        }
+        progress(start);
+        if (csv) {
+            printLoadStatements(out, parts.size(), firstId + users);
+        } else if (option("url", "jdbc:h2:").startsWith("jdbc:h2:")) {
+            // Ids were assigned explicitly, move H2's identity past them (MySQL does this by itself)
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (firstId + users));
+            }
+        }
+    }
+
+    // Batched JDBC inserts for users [from, to) on one connection per thread, committed
+    // after every batch
+
+    private void insert(long firstId, long from, long to) throws SQLException {
+        try (Connection connection = connect();
+                PreparedStatement userInsert = connection.prepareStatement(INSERT_USER);
+                PreparedStatement todoInsert = connection.prepareStatement(INSERT_TODO)) {
+            connection.setAutoCommit(false);
+            int pendingUsers = 0;
+            int pendingTodos = 0;
+            for (long index = from; index < to; index++) {
+                long userId = firstId + index;
+                SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+                UserRow user = user(userId, random);
+                userInsert.setLong(1, userId);
+                userInsert.setString(2, user.username());
+                userInsert.setString(3, user.email());
+                userInsert.setString(4, passwordHash);
+                userInsert.setString(5, user.firstName());
+                userInsert.setString(6, user.lastName());
+                userInsert.setTimestamp(7, user.createdAt());
+                userInsert.setTimestamp(8, user.createdAt());
+                userInsert.addBatch();
+                pendingUsers++;
+
+                int count = todosPerUser.sample(random);
+                int rankWidth = Long.toString(Math.max(count, 1), 36).length();
+                for (int i = 0; i < count; i++) {
+                    TodoRow todo = todo(random, user.createdAt(), i, rankWidth);
+                    todoInsert.setString(1, todo.title());
+                    todoInsert.setString(2, todo.description());
+                    if (todo.dueDate() != null) {
+                        todoInsert.setObject(3, todo.dueDate());
+                    } else {
+                        todoInsert.setNull(3, Types.DATE);
+                    }
+                    todoInsert.setString(4, todo.priority());
+                    todoInsert.setBoolean(5, todo.completed());
+                    todoInsert.setString(6, todo.status());
+                    todoInsert.setTimestamp(7, todo.createdAt());
+                    todoInsert.setTimestamp(8, todo.updatedAt());
+                    todoInsert.setLong(9, userId);
+                    todoInsert.setString(10, todo.rank());
+                    todoInsert.addBatch();
+                    pendingTodos++;
+                }
+
+                if (pendingTodos >= batch || pendingUsers >= batch || index == to - 1) {
+                    // Users first, so the todos' foreign key holds within the transaction
+                    userInsert.executeBatch();
+                    todoInsert.executeBatch();
+                    connection.commit();
+                    usersWritten.addAndGet(pendingUsers);
+                    todosWritten.addAndGet(pendingTodos);
+                    pendingUsers = 0;
+                    pendingTodos = 0;
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(option("url", "jdbc:h2:file:./data/todolist"), option("user", "sa"),
+                option("password", ""));
+    }
+
+    private long nextUserId() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM users")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // CSV files per thread, for CSVREAD (H2) or LOAD DATA (MySQL)
+
+    private void writeCsv(Path out, int part, long firstId, long from, long to) {
+        try (BufferedWriter users = Files.newBufferedWriter(out.resolve("users-" + part + ".csv"),
+                StandardCharsets.UTF_8);
+                BufferedWriter todos = Files.newBufferedWriter(out.resolve("todos-" + part + ".csv"),
+                        StandardCharsets.UTF_8)) {
+            users.write("id,username,email,password,first_name,last_name,is_active,created_at,updated_at\n");
+            todos.write("title,description,due_date,priority,completed,status,created_at,updated_at,user_id,"
+                    + "sort_rank,child_count,completed_child_count\n");
+            for (long index = from; index < to; index++) {
+                long userId = firstId + index;
+                SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+                UserRow user = user(userId, random);
+                users.write(userId + "," + user.username() + "," + user.email() + "," + passwordHash + ","
+                        + user.firstName() + "," + user.lastName() + ",1," + user.createdAt() + ","
+                        + user.createdAt() + "\n");
+
+                int count = todosPerUser.sample(random);
+                int rankWidth = Long.toString(Math.max(count, 1), 36).length();
+                for (int i = 0; i < count; i++) {
+                    TodoRow todo = todo(random, user.createdAt(), i, rankWidth);
+                    todos.write(csv(todo.title()) + "," + csv(todo.description()) + ","
+                            + (todo.dueDate() != null ? todo.dueDate().toString() : NULL) + "," + todo.priority()
+                            + "," + (todo.completed() ? "1" : "0") + "," + todo.status() + "," + todo.createdAt()
+                            + "," + todo.updatedAt() + "," + userId + "," + todo.rank() + ",0,0\n");
+                }
+                todosWritten.addAndGet(count);
+                usersWritten.incrementAndGet();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        return value == null ? NULL : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void printLoadStatements(Path out, int parts, long nextUserId) {
+        System.out.println("\nH2:");
+        for (int part = 0; part < parts; part++) {
+            System.out.printf("INSERT INTO users (id, username, email, password, first_name, last_name, is_active, "
+                    + "created_at, updated_at) SELECT * FROM CSVREAD('%s', NULL, 'null=\\N');%n",
+                    out.resolve("users-" + part + ".csv"));
+        }
+        for (int part = 0; part < parts; part++) {
+            System.out.printf("INSERT INTO todos (title, description, due_date, priority, completed, status, "
+                    + "created_at, updated_at, user_id, sort_rank, child_count, completed_child_count) "
+                    + "SELECT * FROM CSVREAD('%s', NULL, 'null=\\N');%n", out.resolve("todos-" + part + ".csv"));
+        }
+        System.out.printf("ALTER TABLE users ALTER COLUMN id RESTART WITH %d;%n", nextUserId);
+        System.out.println("\nMySQL (local_infile enabled):");
+        for (int part = 0; part < parts; part++) {
+            System.out.printf("LOAD DATA LOCAL INFILE '%s' INTO TABLE users FIELDS TERMINATED BY ',' "
+                    + "OPTIONALLY ENCLOSED BY '\"' IGNORE 1 LINES (id, username, email, password, first_name, "
+                    + "last_name, is_active, created_at, updated_at);%n", out.resolve("users-" + part + ".csv"));
+        }
+        for (int part = 0; part < parts; part++) {
+            System.out.printf("LOAD DATA LOCAL INFILE '%s' INTO TABLE todos FIELDS TERMINATED BY ',' "
+                    + "OPTIONALLY ENCLOSED BY '\"' IGNORE 1 LINES (title, description, due_date, priority, completed, "
+                    + "status, created_at, updated_at, user_id, sort_rank, child_count, completed_child_count);%n",
+                    out.resolve("todos-" + part + ".csv"));
+        }
+    }
+
+    // Row generation
+
+    private record UserRow(String username, String email, String firstName, String lastName, Timestamp createdAt) {
+    }
+
+    private record TodoRow(String title, String description, LocalDate dueDate, String priority, boolean completed,
+            String status, Timestamp createdAt, Timestamp updatedAt, String rank) {
+    }
+
+    // Names follow the user id, so another run against the same database adds new users
+    private UserRow user(long userId, SplittableRandom random) {
+        LocalDateTime created = now.minusMinutes(random.nextLong(3L * 365 * 24 * 60));
+        return new UserRow("user" + userId, "user" + userId + "@example.com",
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                Timestamp.valueOf(created));
+    }
+
+    private TodoRow todo(SplittableRandom random, Timestamp userCreated, int index, int rankWidth) {
+        long age = Duration.between(userCreated.toLocalDateTime(), now).toMinutes();
+        LocalDateTime created = now.minusMinutes(age > 0 ? random.nextLong(age) : 0);
+        LocalDateTime updated = created.plusMinutes(random.nextLong(1, 7 * 24 * 60));
+        if (updated.isAfter(now)) {
+            updated = now;
+        }
+        String state = status.sample(random);
+        LocalDate due = random.nextInt(100) < duePercent ? created.toLocalDate().plusDays(random.nextInt(-7, 60))
+                : null;
+        int descriptionChars = random.nextInt(descriptionLength[0], descriptionLength[1] + 1);
+        // Base-36 position of fixed width plus a non-zero digit: a valid, ordered fractional rank key
+        String rank = "0".repeat(rankWidth) + Long.toString(index + 1, 36);
+        rank = rank.substring(rank.length() - rankWidth) + "i";
+        return new TodoRow(text(random, random.nextInt(titleLength[0], titleLength[1] + 1)),
+                descriptionChars > 0 ? text(random, descriptionChars) : null, due, priority.sample(random),
+                "COMPLETED".equals(state), state, Timestamp.valueOf(created), Timestamp.valueOf(updated), rank);
+    }
+
+    private static String text(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        text.setLength(Math.max(1, length));
+        text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        return text.toString().trim();
+    }
+
+    private void progress(long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "%,d users, %,d todos in %.0f s (%,.0f todos/s)%n", usersWritten.get(),
+                todosWritten.get(), seconds, todosWritten.get() / Math.max(seconds, 0.001));
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static int[] range(String value) {
+        String[] parts = value.split(":");
+        int min = Integer.parseInt(parts[0]);
+        int max = parts.length > 1 ? Integer.parseInt(parts[1]) : min;
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid range " + value);
+        }
+        return new int[] { min, max };
+    }
+
+    /**
+     * Number of todos per user: fixed:n, uniform:min:max or pareto:alpha:min:max (heavy tail)
+     */
+    private record Distribution(String kind, double alpha, int min, int max) {
+
+        static Distribution parse(String value) {
+            String[] parts = value.split(":");
+            return switch (parts[0].toLowerCase(Locale.ROOT)) {
+                case "fixed" -> new Distribution("fixed", 0, Integer.parseInt(parts[1]), Integer.parseInt(parts[1]));
+                case "uniform" -> new Distribution("uniform", 0, Integer.parseInt(parts[1]),
+                        Integer.parseInt(parts[2]));
+                case "pareto" -> new Distribution("pareto", Double.parseDouble(parts[1]), Integer.parseInt(parts[2]),
+                        Integer.parseInt(parts[3]));
+                default -> throw new IllegalArgumentException("Unknown distribution " + value);
+            };
+        }
+
+        int sample(SplittableRandom random) {
+            return switch (kind) {
+                case "uniform" -> random.nextInt(min, max + 1);
+                case "pareto" -> (int) Math.min(max, Math.floor(min / Math.pow(1 - random.nextDouble(), 1 / alpha)));
+                default -> min;
+            };
+        }
+    }
+
+    /**
+     * Weighted choice among names, parsed from NAME:weight,NAME:weight
+     */
+    private record Weighted(String[] names, int[] cumulative) {
+
+        static Weighted parse(String value) {
+            String[] entries = value.split(",");
+            String[] names = new String[entries.length];
+            int[] cumulative = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                String[] parts = entries[i].trim().split(":");
+                names[i] = parts[0].trim().toUpperCase(Locale.ROOT);
+                total += parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                cumulative[i] = total;
+            }
+            return new Weighted(names, cumulative);
+        }
+
+        String sample(SplittableRandom random) {
+            int roll = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (roll < cumulative[i]) {
+                    return names[i];
+                }
+            }
+            return names[names.length - 1];
+        }
+    }
+}
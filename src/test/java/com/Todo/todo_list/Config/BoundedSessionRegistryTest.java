@@ -0,0 +1,81 @@
+package com.Todo.todo_list.Config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.session.SessionInformation;
+
+class BoundedSessionRegistryTest {
+
+    // One stripe of four entries, so every principal competes for the same room
+    private static BoundedSessionRegistry registry() {
+        return new BoundedSessionRegistry(4, 1, Duration.ofHours(1));
+    }
+
+    // A second login expires the first session, as AuthService does
+    private static void relogin(BoundedSessionRegistry registry, String oldId, String newId, String principal) {
+        registry.getSessionInformation(oldId).expireNow();
+        registry.registerNewSession(newId, principal);
+    }
+
+    @Test
+    void aFullStripeKeepsExpiredSessionsExpired() {
+        BoundedSessionRegistry registry = registry();
+        registry.registerNewSession("alice-1", "alice");
+        relogin(registry, "alice-1", "alice-2", "alice");
+
+        // Fill the stripe and keep registering well past its capacity
+        for (int i = 0; i < 10; i++) {
+            registry.registerNewSession("bob-" + i, "bob" + i);
+        }
+
+        SessionInformation kicked = registry.getSessionInformation("alice-1");
+        assertNotNull(kicked, "the expired marker was evicted");
+        assertTrue(kicked.isExpired());
+        assertEquals(4L, registry.getMetrics().get("sessions"));
+    }
+
+    @Test
+    void evictsTheOldestLiveSession() {
+        BoundedSessionRegistry registry = registry();
+        registry.registerNewSession("alice-1", "alice");
+        relogin(registry, "alice-1", "alice-2", "alice");
+        registry.registerNewSession("bob", "bob");
+        registry.registerNewSession("carol", "carol");
+
+        registry.registerNewSession("dave", "dave");
+
+        // alice-1 is older but expired; alice-2 is the oldest live session
+        assertNotNull(registry.getSessionInformation("alice-1"));
+        assertNull(registry.getSessionInformation("alice-2"));
+        assertNotNull(registry.getSessionInformation("dave"));
+        assertEquals(1L, registry.getMetrics().get("evicted"));
+    }
+
+    @Test
+    void aStripeOfExpiredMarkersGrowsUntilTheyAreRemoved() {
+        BoundedSessionRegistry registry = registry();
+        for (int i = 0; i < 4; i++) {
+            registry.registerNewSession("s" + i, "user" + i);
+            registry.getSessionInformation("s" + i).expireNow();
+        }
+
+        registry.registerNewSession("new", "new");
+        assertEquals(5L, registry.getMetrics().get("sessions"));
+        assertEquals(1L, registry.getMetrics().get("overflowed"));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(registry.getSessionInformation("s" + i).isExpired());
+        }
+
+        // Once a marker's session is destroyed, the stripe is back to its capacity
+        registry.removeSessionInformation("s0");
+        registry.removeSessionInformation("s1");
+        registry.registerNewSession("newer", "newer");
+        assertEquals(4L, registry.getMetrics().get("sessions"));
+    }
+}
@@ -0,0 +1,159 @@
+package com.Todo.todo_list.Controller;
+
+import static com.Todo.todo_list.Monitoring.QueryCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Monitoring.QueryCountAssertions;
+import com.Todo.todo_list.Repository.UserRepository;
+import com.Todo.todo_list.Service.TodoServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * SQL statement budgets of the read endpoints, as reported by QueryStatsFilter. Each
+ * budget is the same for a small and a larger data set, so a per-row query (N+1)
+ * fails the test. Every request also spends one statement loading the current user;
+ * the first request of a session spends one more in SessionAuthenticationFilter before
+ * the security context is stored in the session, so each test uses its session once
+ * before counting.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycounts;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.reminders.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false",
+        "todo.query-stats.enabled=true",
+        "todo.query-stats.expose-headers=true",
+        "todo.security.bcrypt-strength=4"
+})
+@AutoConfigureMockMvc
+class TodoControllerQueryCountTest {
+
+    private static final int USER_LOOKUP = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoServices todoServices;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void login() throws Exception {
+        String name = "c" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User(name, name + "@example.com", "x".repeat(60)));
+        session = new MockHttpSession();
+        session.setAttribute("user", user.getId());
+        perform("/api/todos/by-due-date");
+    }
+
+    // A root todo with children subtasks, each with one subtask of its own
+    private Todo createTree(int children) {
+        Todo root = todoServices.save(new Todo("root", null, LocalDate.now(), user));
+        for (int i = 0; i < children; i++) {
+            Todo child = new Todo("child " + i, null, LocalDate.now().plusDays(i), user);
+            child.setParentId(root.getId());
+            child = todoServices.save(child);
+            Todo grandchild = new Todo("grandchild " + i, null, null, user);
+            grandchild.setParentId(child.getId());
+            todoServices.save(grandchild);
+        }
+        return root;
+    }
+
+    private MvcResult perform(String uri) throws Exception {
+        return mockMvc.perform(get(uri).session(session)).andExpect(status().isOk()).andReturn();
+    }
+
+    @Test
+    void listIsOneQuery() throws Exception {
+        createTree(2);
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos"));
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos?status=PENDING&sort=date"));
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos?fields=title,status"));
+
+        createTree(20);
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos"));
+    }
+
+    @Test
+    void treeIsOneQueryAtAnySize() throws Exception {
+        Todo small = createTree(2);
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos/" + small.getId() + "/tree"));
+
+        Todo large = createTree(20);
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos/" + large.getId() + "/tree"));
+    }
+
+    @Test
+    void byDueDateIsOneQuery() throws Exception {
+        createTree(2);
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos/by-due-date"));
+
+        createTree(20);
+        assertStatementCount(USER_LOOKUP + 1, perform("/api/todos/by-due-date?size=100"));
+    }
+
+    @Test
+    void jdbcTemplateStatementsAreCounted() {
+        assertStatementCount(2, () -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Long.class);
+            jdbcTemplate.update("UPDATE todos SET title = title WHERE id = -1");
+        });
+        assertEquals(1, QueryCountAssertions.count(() -> todoServices.findByUser(user)).getStatementCount());
+    }
+
+    @Test
+    void streamWritesTheListBody() throws Exception {
+        createTree(5);
+        MvcResult started = mockMvc.perform(get("/api/todos/stream").session(session)).andReturn();
+        MvcResult streamed = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+
+        assertEquals(objectMapper.readTree(perform("/api/todos").getResponse().getContentAsString()).get("todos"),
+                objectMapper.readTree(streamed.getResponse().getContentAsString()).get("todos"));
+    }
+
+    @Test
+    void exportWritesOneLinePerTodo() throws Exception {
+        createTree(5);
+        MvcResult started = mockMvc.perform(get("/api/todos/export?format=csv").session(session)).andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+
+        // Header and 11 todos
+        assertEquals(12, csv.lines().count());
+        assertTrue(csv.lines().skip(1).allMatch(line -> line.contains("child") || line.contains("root")));
+        mockMvc.perform(get("/api/todos/export?format=xml").session(session)).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,115 @@
+package com.Todo.todo_list.Dto;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Bytes allocated to write one list response of 500 todos, as the message converter
+ * does (straight to the output stream): the map of entities the endpoints used to
+ * return, serialized by reflection, against the typed ApiResponse through a reused
+ * ObjectWriter with Blackbird. Median of several runs on this thread, after warm-up.
+ */
+class ApiResponseAllocationTest {
+
+    private static final int TODOS = 500;
+    private static final int WARMUP_RUNS = 200;
+    private static final int RUNS = 21;
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private static List<Todo> todos() {
+        User owner = new User("owner", "owner@example.com", "x".repeat(60));
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < TODOS; i++) {
+            Todo todo = new Todo("Todo " + i, "Description of todo " + i, LocalDate.of(2026, 1, 1).plusDays(i % 90),
+                    owner);
+            todo.setPriority(Todo.Priority.values()[i % 3]);
+            todo.setStatus(Todo.Status.values()[i % 3]);
+            todo.setRank(String.format(Locale.ROOT, "a%05d", i));
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    private static ObjectMapper mapper(boolean blackbird) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    private static long allocatedPerRun(Write write) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            write.run();
+        }
+        long[] bytes = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            write.run();
+            bytes[i] = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        Arrays.sort(bytes);
+        return bytes[RUNS / 2];
+    }
+
+    @Test
+    void typedResponsesAllocateFarLessThanMapsOfEntities() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        List<Todo> todos = todos();
+
+        ObjectMapper reflective = mapper(false);
+        long mapOfEntities = allocatedPerRun(() -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("todos", todos);
+            reflective.writeValue(DISCARD, response);
+        });
+
+        ObjectWriter typedWriter = mapper(true).writerFor(ApiResponse.class);
+        long typed = allocatedPerRun(() -> typedWriter.writeValue(DISCARD, ApiResponse.todos(todos)));
+
+        String report = String.format(Locale.ROOT, "%d todos: map of entities %,d bytes, typed response %,d bytes",
+                TODOS, mapOfEntities, typed);
+        // Measured at about 50 KB against 1.5 MB; require at least a halving
+        assertTrue(typed * 2 < mapOfEntities, report);
+    }
+}
@@ -0,0 +1,81 @@
+package com.Todo.todo_list.Idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IdempotencyStoreTest {
+
+    private static final IdempotencyStore.StoredResponse OK = new IdempotencyStore.StoredResponse(200,
+            "application/json", "{}".getBytes());
+
+    // In-memory store (the repository is only used when persistent)
+    private static IdempotencyStore store(int maxEntries, long ttlMinutes) {
+        IdempotencyStore store = new IdempotencyStore(null);
+        ReflectionTestUtils.setField(store, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(store, "ttlMinutes", ttlMinutes);
+        ReflectionTestUtils.setField(store, "waitMillis", 10L);
+        return store;
+    }
+
+    private static IdempotencyStore.Owner own(IdempotencyStore store, String key) {
+        return assertInstanceOf(IdempotencyStore.Owner.class, store.claim(key, "hash"));
+    }
+
+    @Test
+    void releasedAndExpiredKeysLeaveNothingBehind() {
+        IdempotencyStore store = store(1000, 0);
+        for (int i = 0; i < 10_000; i++) {
+            String key = "k" + i;
+            IdempotencyStore.Owner owner = own(store, key);
+            if (i % 2 == 0) {
+                store.release(key, owner);
+            } else {
+                store.complete(key, owner, OK);
+            }
+        }
+        // A ttl of 0 expires every completed key at once
+        store.evictExpired();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void fullStoreEvictsTheOldestCompletedKeys() {
+        // 16 stripes of one entry each
+        IdempotencyStore store = store(16, 60);
+        for (int i = 0; i < 1000; i++) {
+            String key = "k" + i;
+            store.complete(key, own(store, key), OK);
+        }
+        assertEquals(16, store.size(), "never more than one key per stripe");
+
+        // The newest key of each stripe is still replayed
+        assertInstanceOf(IdempotencyStore.Replay.class, store.claim("k999", "hash"));
+    }
+
+    @Test
+    void keysStillExecutingAreNotEvicted() {
+        IdempotencyStore store = store(16, 60);
+        IdempotencyStore.Owner running = own(store, "running");
+        for (int i = 0; i < 1000; i++) {
+            String key = "k" + i;
+            store.complete(key, own(store, key), OK);
+        }
+        // A duplicate still finds the claim and waits for it
+        assertInstanceOf(IdempotencyStore.InProgress.class, store.claim("running", "hash"));
+        store.complete("running", running, OK);
+        assertInstanceOf(IdempotencyStore.Replay.class, store.claim("running", "hash"));
+    }
+
+    @Test
+    void anExpiredKeyIsOwnedAgainAndStoredOnce() {
+        IdempotencyStore store = store(32, 0);
+        store.complete("a", own(store, "a"), OK);
+        // Expired with a ttl of 0: the second claim owns the key again
+        IdempotencyStore.Owner again = own(store, "a");
+        store.complete("a", again, OK);
+        assertEquals(1, store.size());
+    }
+}
@@ -0,0 +1,102 @@
+package com.Todo.todo_list.Journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * Cost of the journal, in the two halves MutationJournal splits it into. First the
+ * write path: concurrent request threads build a record and offer it to the ring
+ * buffer (sized so nothing is dropped). Then the writer: one thread drains the buffer
+ * into a JournalWriter. The floors are far below the measured numbers and only catch
+ * a path that starts blocking or allocating per byte.
+ */
+class JournalThroughputTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int RECORDS_PER_PRODUCER = 100_000;
+    private static final int SEGMENT_BYTES = 16 * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private static JournalRecord record(long producer, long i) {
+        return new JournalRecord(JournalRecord.Op.UPDATE, System.currentTimeMillis(), producer, i,
+                Todo.Status.PENDING, Todo.Priority.MEDIUM, false, "Buy milk and bread");
+    }
+
+    // Producer threads offer their records concurrently, returns the summed thread time
+    private static long publish(MpscRingBuffer<JournalRecord> ring, int perProducer) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> elapsed = new ArrayList<>();
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                long producer = p;
+                elapsed.add(pool.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    for (int i = 0; i < perProducer; i++) {
+                        assertTrue(ring.offer(record(producer, i)));
+                    }
+                    return System.nanoTime() - begin;
+                }));
+            }
+            start.countDown();
+            long total = 0;
+            for (Future<Long> nanos : elapsed) {
+                total += nanos.get(60, TimeUnit.SECONDS);
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void writePathOverheadAndWriterThroughput() throws Exception {
+        int total = PRODUCERS * RECORDS_PER_PRODUCER;
+        MpscRingBuffer<JournalRecord> ring = new MpscRingBuffer<>(total);
+
+        try (JournalWriter writer = new JournalWriter(directory, SEGMENT_BYTES)) {
+            // Warm-up round through the same code
+            publish(ring, RECORDS_PER_PRODUCER / 4);
+            ring.drain(record -> append(writer, record), Integer.MAX_VALUE);
+
+            double nanosPerOffer = (double) publish(ring, RECORDS_PER_PRODUCER) / total;
+
+            long begin = System.nanoTime();
+            int written = ring.drain(record -> append(writer, record), Integer.MAX_VALUE);
+            double appendsPerSecond = written / ((System.nanoTime() - begin) / 1e9);
+
+            String report = String.format(Locale.ROOT,
+                    "%d producers: %.0f ns to build and offer a record; writer %.0f appends/s",
+                    PRODUCERS, nanosPerOffer, appendsPerSecond);
+            assertEquals(total, written, report);
+            assertTrue(nanosPerOffer < 5_000, report);
+            assertTrue(appendsPerSecond > 100_000, report);
+        }
+    }
+    private static void append(JournalWriter writer, JournalRecord record) {
+        try {
+            writer.append(record);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
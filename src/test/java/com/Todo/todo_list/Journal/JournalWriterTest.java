@@ -0,0 +1,135 @@
+package com.Todo.todo_list.Journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.Todo.todo_list.Entity.Todo;
+
+/**
+ * JournalWriter, the segment scan and JournalReader against segment files in a
+ * temporary directory
+ */
+class JournalWriterTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    private static JournalRecord record(int i) {
+        JournalRecord.Op op = JournalRecord.Op.values()[i % 3];
+        String title = i % 7 == 0 ? null : "todo " + i + " ✓".repeat(i % 5);
+        return new JournalRecord(op, 1_700_000_000_000L + i, 1 + i % 3, 100 + i,
+                Todo.Status.values()[i % 3], Todo.Priority.values()[i % 3], i % 2 == 0, title);
+    }
+
+    private List<JournalRecord> replay() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.replay(directory, records::add);
+        return records;
+    }
+
+    @Test
+    void recordsReplayInOrderAcrossSegments() throws IOException {
+        List<JournalRecord> written = new ArrayList<>();
+        long lastSegment;
+        try (JournalWriter writer = new JournalWriter(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < 1000; i++) {
+                written.add(record(i));
+                writer.append(record(i));
+            }
+            lastSegment = writer.getSegmentIndex();
+        }
+
+        assertTrue(lastSegment > 5, "expected several segments, ended in segment " + lastSegment);
+        // Segments are numbered from 1 without gaps
+        assertEquals(lastSegment, JournalSegments.list(directory).size());
+        assertEquals(written, replay());
+    }
+
+    @Test
+    void purgeRecordsRoundTrip() throws IOException {
+        try (JournalWriter writer = new JournalWriter(directory, SEGMENT_BYTES)) {
+            writer.append(JournalRecord.purge(42L));
+        }
+        JournalRecord purge = replay().get(0);
+        assertEquals(JournalRecord.Op.PURGE, purge.op());
+        assertEquals(42L, purge.userId());
+        assertEquals(0, purge.todoId());
+        assertNull(purge.status());
+        assertNull(purge.title());
+    }
+
+    @Test
+    void reopeningContinuesAfterTheLastFrame() throws IOException {
+        try (JournalWriter writer = new JournalWriter(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < 10; i++) {
+                writer.append(record(i));
+            }
+        }
+        try (JournalWriter writer = new JournalWriter(directory, SEGMENT_BYTES)) {
+            for (int i = 10; i < 15; i++) {
+                writer.append(record(i));
+            }
+        }
+
+        List<JournalRecord> records = replay();
+        assertEquals(15, records.size());
+        for (int i = 0; i < 15; i++) {
+            assertEquals(record(i), records.get(i));
+        }
+    }
+
+    @Test
+    void scanStopsAtATornFrame() throws IOException {
+        int thirdFrame;
+        try (JournalWriter writer = new JournalWriter(directory, SEGMENT_BYTES)) {
+            writer.append(record(1));
+            writer.append(record(2));
+            thirdFrame = writer.getPosition();
+            writer.append(record(3));
+            writer.append(record(4));
+        }
+
+        // Flip a payload byte of the third frame, as a write torn by a crash would leave it
+        Path segment = JournalSegments.list(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long at = thirdFrame + JournalSegments.FRAME_HEADER_BYTES + 10;
+            channel.read(one, at);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, at);
+        }
+
+        assertEquals(List.of(record(1), record(2)), replay());
+        // A reopened writer overwrites the torn frame. Rewriting a frame of the same length
+        // must not bring back the frame that followed it
+        try (JournalWriter writer = new JournalWriter(directory, SEGMENT_BYTES)) {
+            assertEquals(thirdFrame, writer.getPosition());
+            writer.append(record(3));
+        }
+        assertEquals(List.of(record(1), record(2), record(3)), replay());
+    }
+
+    @Test
+    void overlongTitlesAreTruncated() throws IOException {
+        String title = "x".repeat(70_000);
+        try (JournalWriter writer = new JournalWriter(directory, 256 * 1024)) {
+            writer.append(new JournalRecord(JournalRecord.Op.CREATE, 1L, 1L, 1L, Todo.Status.PENDING,
+                    Todo.Priority.LOW, false, title));
+        }
+        assertEquals(0xFFFF, replay().get(0).title().length());
+    }
+}
@@ -0,0 +1,117 @@
+package com.Todo.todo_list.Journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(4, new MpscRingBuffer<>(4).getCapacity());
+        assertEquals(8, new MpscRingBuffer<>(5).getCapacity());
+        assertEquals(1024, new MpscRingBuffer<>(1000).getCapacity());
+    }
+
+    @Test
+    void rejectsWhenFullAndKeepsOrderAcrossWraparound() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        // Many laps with the consumer at varying distances behind the producer
+        for (int lap = 0; lap < 50; lap++) {
+            while (ring.offer(next)) {
+                next++;
+            }
+            assertEquals(4, ring.size());
+            assertFalse(ring.offer(-1));
+
+            ring.drain(drained::add, 1 + lap % 4);
+            assertTrue(ring.offer(next++));
+        }
+        ring.drain(drained::add, Integer.MAX_VALUE);
+
+        assertEquals(0, ring.size());
+        assertEquals(next, drained.size());
+        for (int i = 0; i < drained.size(); i++) {
+            assertEquals(i, drained.get(i));
+        }
+    }
+
+    @Test
+    void drainStopsAtTheLimit() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 6; i++) {
+            ring.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, ring.drain(drained::add, 4));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(2, ring.size());
+        assertEquals(2, ring.drain(drained::add, 4));
+        assertEquals(0, ring.drain(drained::add, 4));
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepTheirOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<Long> ring = new MpscRingBuffer<>(256);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+        try {
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                done.add(pool.submit(() -> {
+                    start.await();
+                    for (long seq = 0; seq < perProducer; seq++) {
+                        // A full buffer fails the offer; retry until the consumer catches up. Yield
+                        // rather than spin, so a producer between claim and publish gets to run
+                        while (!ring.offer(producer << 32 | seq)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long[] nextSeq = new long[producers];
+            long[] received = new long[1];
+            start.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (received[0] < (long) producers * perProducer && System.nanoTime() < deadline) {
+                int drained = ring.drain(item -> {
+                    int producer = (int) (item >>> 32);
+                    assertEquals(nextSeq[producer], item & 0xFFFFFFFFL, "order of producer " + producer);
+                    nextSeq[producer]++;
+                    received[0]++;
+                }, 1024);
+                if (drained == 0) {
+                    Thread.yield();
+                }
+            }
+            for (Future<?> future : done) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals((long) producers * perProducer, received[0]);
+            for (long seq : nextSeq) {
+                assertEquals(perProducer, seq);
+            }
+            assertEquals(0, ring.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
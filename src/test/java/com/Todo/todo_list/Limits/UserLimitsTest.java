@@ -0,0 +1,146 @@
+package com.Todo.todo_list.Limits;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Repository.TodoRepository;
+import com.Todo.todo_list.Repository.UserRepository;
+import com.Todo.todo_list.Service.TodoServices;
+
+/**
+ * The todo quota is reserved atomically on every insert path, with a quota of five.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:limits;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.reminders.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false",
+        "todo.limits.max-todos=5",
+        "todo.security.bcrypt-strength=4"
+})
+class UserLimitsTest {
+
+    private static final int MAX_TODOS = 5;
+
+    @Autowired
+    private TodoServices todoServices;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String name = "q" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User(name, name + "@example.com", "x".repeat(60)));
+    }
+
+    private Todo create(String title) {
+        return todoServices.save(new Todo(title, null, null, user));
+    }
+
+    @Test
+    void concurrentCreatesNeverExceedTheQuota() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 24; i++) {
+                String title = "todo " + i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        create(title);
+                        return true;
+                    } catch (UserLimits.QuotaExceededException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    created++;
+                }
+            }
+            assertEquals(MAX_TODOS, created);
+            assertEquals(MAX_TODOS, todoRepository.countByUserId(user.getId()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void occurrenceExceptionsTakeAQuotaSlot() {
+        Todo daily = new Todo("daily", null, LocalDate.now(), user);
+        daily.setRecurrence(Todo.Recurrence.DAILY);
+        daily = todoServices.save(daily);
+        for (int i = 1; i < MAX_TODOS; i++) {
+            create("todo " + i);
+        }
+
+        Todo occurrence = todoServices.findOrCreateOccurrence(daily, LocalDate.now().plusDays(1));
+        occurrence.setTitle("edited occurrence");
+        assertThrows(UserLimits.QuotaExceededException.class, () -> todoServices.save(occurrence));
+        assertEquals(MAX_TODOS, todoRepository.countByUserId(user.getId()));
+    }
+
+    @Test
+    void rolledBackCreatesReleaseTheirSlots() {
+        for (int i = 1; i < MAX_TODOS; i++) {
+            create("todo " + i);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            create("rolled back");
+            status.setRollbackOnly();
+        });
+
+        create("last");
+        assertThrows(UserLimits.QuotaExceededException.class, () -> create("over the quota"));
+        assertEquals(MAX_TODOS, todoRepository.countByUserId(user.getId()));
+    }
+
+    @Test
+    void rolledBackDeletesKeepTheirSlots() {
+        Todo deleted = create("todo 0");
+        for (int i = 1; i < MAX_TODOS; i++) {
+            create("todo " + i);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            todoServices.delete(todoServices.findById(deleted.getId()).orElseThrow());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(MAX_TODOS, todoRepository.countByUserId(user.getId()));
+        assertThrows(UserLimits.QuotaExceededException.class, () -> create("over the quota"));
+    }
+}
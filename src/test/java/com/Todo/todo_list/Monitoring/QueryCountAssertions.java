@@ -0,0 +1,49 @@
+package com.Todo.todo_list.Monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Test helpers for pinning the number of SQL statements a code path or endpoint issues.
+ * All of them need todo.query-stats.enabled=true; endpoint assertions also need
+ * todo.query-stats.expose-headers=true and a MockMvc with filters (the default for
+ * @AutoConfigureMockMvc).
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Run the action and return the statements it issued on this thread
+     */
+    public static QueryStats count(Runnable action) {
+        QueryStats stats = QueryStats.start();
+        try {
+            action.run();
+        } finally {
+            QueryStats.stop();
+        }
+        return stats;
+    }
+
+    /**
+     * Assert that the action issues exactly the expected number of SQL statements
+     */
+    public static void assertStatementCount(int expected, Runnable action) {
+        QueryStats stats = count(action);
+        assertEquals(expected, stats.getStatementCount(), "SQL statement count");
+    }
+
+    /**
+     * Assert the statement count reported by QueryStatsFilter for a MockMvc request
+     */
+    public static void assertStatementCount(int expected, MvcResult result) {
+        String header = result.getResponse().getHeader(QueryStatsFilter.COUNT_HEADER);
+        assertNotNull(header, "Missing " + QueryStatsFilter.COUNT_HEADER + " header; is expose-headers enabled?");
+        assertEquals(expected, Integer.parseInt(header),
+                "SQL statement count for " + result.getRequest().getMethod() + " " + result.getRequest().getRequestURI());
+    }
+}
@@ -0,0 +1,94 @@
+package com.Todo.todo_list.Reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void firesOnTheFirstTickBoundaryAtOrAfterTheDeadline() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        List<String> fired = new ArrayList<>();
+        assertTrue(wheel.schedule("a", 35, "a"));
+
+        wheel.advanceTo(39, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(40, fired::add);
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsDeadlinesInThePast() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 1000);
+        assertFalse(wheel.schedule("late", 500, "late"));
+        assertFalse(wheel.contains("late"));
+    }
+
+    @Test
+    void entriesCascadeThroughLevelsAndFireOnTime() {
+        // wheelSize 4 and tick 10: level 1 spans 160 ms, level 2 640 ms, level 3 2560 ms
+        HierarchicalTimingWheel<Integer, Integer> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        Random random = new Random(11);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 500; key++) {
+            long deadline = random.nextInt(20_000);
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline, key);
+        }
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        for (long now = 0; now <= 20_100; now += TICK) {
+            long time = now;
+            wheel.advanceTo(now, key -> firedAt.put(key, time));
+        }
+
+        assertEquals(deadlines.keySet(), firedAt.keySet());
+        for (Map.Entry<Integer, Long> entry : deadlines.entrySet()) {
+            long at = firedAt.get(entry.getKey());
+            assertTrue(at >= entry.getValue() && at <= entry.getValue() + TICK,
+                    "deadline " + entry.getValue() + " fired at " + at);
+        }
+    }
+
+    @Test
+    void advancingInOneJumpFiresEverythingDue() {
+        HierarchicalTimingWheel<Integer, Integer> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        for (int key = 0; key < 100; key++) {
+            wheel.schedule(key, key * 97L, key);
+        }
+        List<Integer> fired = new ArrayList<>();
+        wheel.advanceTo(5000, fired::add);
+        assertEquals(52, fired.size());
+        assertEquals(48, wheel.size());
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceTheEntry() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        wheel.schedule("moved", 50, "first");
+        wheel.schedule("moved", 900, "second");
+        wheel.schedule("cancelled", 60, "cancelled");
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertEquals(1, wheel.size());
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(500, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(910, fired::add);
+        assertEquals(List.of("second"), fired);
+        assertFalse(wheel.contains("moved"));
+    }
+}
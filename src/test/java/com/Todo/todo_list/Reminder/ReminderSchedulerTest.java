@@ -0,0 +1,222 @@
+package com.Todo.todo_list.Reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Repository.TodoRepository;
+import com.Todo.todo_list.Repository.UserRepository;
+import com.Todo.todo_list.Service.TodoServices;
+
+/**
+ * Reminders end to end through TodoServices, delivered to the in-memory sink. The
+ * scheduler reads a test clock that starts a minute before today's reminder time and
+ * is moved forward by the tests, which then tick the wheel themselves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reminders;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false",
+        "todo.reminders.enabled=true",
+        "todo.reminders.sink=memory",
+        "todo.reminders.time-of-day=09:00",
+        "todo.reminders.window-hours=48",
+        "todo.security.bcrypt-strength=4"
+})
+class ReminderSchedulerTest {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final LocalDate TODAY = LocalDate.now(ZONE);
+    private static final Instant FIRE_TIME = TODAY.atTime(9, 0).atZone(ZONE).toInstant();
+
+    // A clock the test moves by hand
+    static final class TestClock extends Clock {
+        private final AtomicReference<Instant> now;
+
+        TestClock(Instant start) {
+            this.now = new AtomicReference<>(start);
+        }
+
+        void set(Instant instant) {
+            now.set(instant);
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @TestConfiguration
+    static class ClockConfig {
+        @Bean
+        TestClock testClock() {
+            return new TestClock(FIRE_TIME.minusSeconds(60));
+        }
+    }
+
+    @Autowired
+    private ReminderScheduler scheduler;
+
+    @Autowired
+    private InMemoryReminderSink sink;
+
+    @Autowired
+    private TestClock clock;
+
+    @Autowired
+    private TodoServices todoServices;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Load the window now rather than racing the scheduler's own first run
+        scheduler.extendWindow();
+        String name = "r" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User(name, name + "@example.com", "x".repeat(60)));
+    }
+
+    private Todo save(String title, LocalDate date) {
+        return todoServices.save(new Todo(title, null, date, user));
+    }
+
+    private boolean delivered(Todo todo) {
+        return sink.getDelivered().stream().anyMatch(r -> r.todoId().equals(todo.getId()));
+    }
+
+    @Test
+    void firesAtTheDueTimeAndHonoursCancelAndReschedule() throws InterruptedException {
+        Todo due = save("due today", TODAY);
+        Todo completed = save("completed before it fires", TODAY);
+        Todo deleted = save("deleted before it fires", TODAY);
+        Todo moved = save("moved to next week", TODAY);
+
+        completed.setCompleted(true);
+        todoServices.save(completed);
+        todoServices.delete(deleted);
+        moved.setDate(TODAY.plusDays(7));
+        todoServices.save(moved);
+
+        // Nothing fires before the reminder time
+        clock.set(FIRE_TIME.minusSeconds(1));
+        scheduler.tick();
+        assertFalse(delivered(due));
+
+        clock.set(FIRE_TIME.plusSeconds(1));
+        scheduler.tick();
+        // The scheduler's own tick may have taken the reminder and be delivering it
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!delivered(due) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Reminder reminder = sink.getDelivered().stream().filter(r -> r.todoId().equals(due.getId())).findFirst()
+                .orElseThrow(() -> new AssertionError("reminder did not fire"));
+        assertEquals(FIRE_TIME, reminder.fireAt());
+        assertFalse(delivered(completed) || delivered(deleted) || delivered(moved));
+    }
+
+    @Test
+    void deletingARecurringTodoCancelsRemindersOfItsExceptions() {
+        LocalDate tomorrow = TODAY.plusDays(1);
+        Todo daily = new Todo("daily", null, TODAY.minusDays(3), user);
+        daily.setRecurrence(Todo.Recurrence.DAILY);
+        daily = todoServices.save(daily);
+
+        Todo exception = new Todo("daily, moved to tomorrow", null, tomorrow, user);
+        exception.setRecurrenceSourceId(daily.getId());
+        exception.setOccurrenceDate(TODAY.minusDays(1));
+        exception = todoServices.save(exception);
+        assertTrue(scheduler.isScheduled(exception.getId()));
+
+        todoServices.delete(daily);
+        assertFalse(scheduler.isScheduled(exception.getId()));
+    }
+
+    @Test
+    void writesCommittedWhileTheWindowLoadsAreNotLostOrRevived() {
+        User owner = new User("owner", "owner@example.com", "x".repeat(60));
+        owner.setId(1L);
+        Todo created = todo(1L, owner);
+        Todo completed = todo(2L, owner);
+        Todo deleted = todo(3L, owner);
+        Todo unchanged = todo(4L, owner);
+
+        AtomicReference<ReminderScheduler> scheduler = new AtomicReference<>();
+        // The query sees the table before the three writes below commit
+        TodoRepository repository = (TodoRepository) Proxy.newProxyInstance(TodoRepository.class.getClassLoader(),
+                new Class<?>[] { TodoRepository.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("findOpenDueBetween")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    scheduler.get().onTodoSaved(created);
+                    completed.setCompleted(true);
+                    scheduler.get().onTodoSaved(completed);
+                    scheduler.get().onTodoDeleted(deleted.getId());
+                    return List.of(due(completed), due(deleted), due(unchanged));
+                });
+        ReminderScheduler windowed = new ReminderScheduler(repository, new InMemoryReminderSink(),
+                new StaticListableBeanFactory(Map.of("clock", new TestClock(FIRE_TIME.minusSeconds(60))))
+                        .getBeanProvider(Clock.class));
+        ReflectionTestUtils.setField(windowed, "enabled", true);
+        ReflectionTestUtils.setField(windowed, "timeOfDay", LocalTime.of(9, 0).toString());
+        ReflectionTestUtils.setField(windowed, "windowHours", 48L);
+        scheduler.set(windowed);
+        windowed.startWheel();
+
+        windowed.extendWindow();
+
+        assertTrue(windowed.isScheduled(created.getId()), "created during the load");
+        assertFalse(windowed.isScheduled(completed.getId()), "completed during the load");
+        assertFalse(windowed.isScheduled(deleted.getId()), "deleted during the load");
+        assertTrue(windowed.isScheduled(unchanged.getId()));
+        assertEquals(2, windowed.getScheduledCount());
+    }
+
+    private static Todo todo(Long id, User owner) {
+        Todo todo = new Todo("todo " + id, null, TODAY, owner);
+        todo.setId(id);
+        return todo;
+    }
+
+    private static DueTodo due(Todo todo) {
+        return new DueTodo(todo.getId(), todo.getUser().getId(), todo.getTitle(), todo.getDate());
+    }
+}
@@ -0,0 +1,123 @@
+package com.Todo.todo_list.Repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Records the SQL and bound parameters of every prepared statement executed on the
+ * current thread while capturing, so the exact statement a repository method ran
+ * can be replayed with EXPLAIN. Installed by registering {@link #postProcessor()}.
+ */
+public final class SqlCapture {
+
+    public record Statement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    private static final ThreadLocal<List<Statement>> CAPTURED = new ThreadLocal<>();
+
+    private SqlCapture() {
+    }
+
+    /**
+     * Run the action and return the prepared statements it executed
+     */
+    public static List<Statement> capture(Runnable action) {
+        List<Statement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Prepare the statement with the given prefix (e.g. "EXPLAIN ") and its original parameters
+     */
+    public static PreparedStatement prepare(Connection connection, String prefix, Statement statement)
+            throws SQLException {
+        PreparedStatement prepared = connection.prepareStatement(prefix + statement.sql());
+        for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+            prepared.setObject(parameter.getKey(), parameter.getValue());
+        }
+        return prepared;
+    }
+
+    public static BeanPostProcessor postProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? new CapturingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    private static final class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = obtainTargetDataSource().getConnection();
+            return (Connection) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        Object result = invokeTarget(connection, method, args);
+                        if ("prepareStatement".equals(method.getName()) && args[0] instanceof String sql) {
+                            return Proxy.newProxyInstance(SqlCapture.class.getClassLoader(),
+                                    new Class<?>[] { PreparedStatement.class },
+                                    new StatementHandler((PreparedStatement) result, sql));
+                        }
+                        return result;
+                    });
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final PreparedStatement target;
+        private final String sql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        StatementHandler(PreparedStatement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && CAPTURED.get() != null) {
+                CAPTURED.get().add(new Statement(sql, new TreeMap<>(parameters)));
+            }
+            return invokeTarget(target, method, args);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
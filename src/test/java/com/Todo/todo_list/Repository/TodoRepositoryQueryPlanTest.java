@@ -0,0 +1,392 @@
+package com.Todo.todo_list.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Todo.todo_list.Dto.TodoFields;
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Service.TodoQuery;
+
+/**
+ * Seeds an in-memory H2 database with a skewed population of users and todos, runs
+ * every repository query and checks the plan H2 reports for the exact statement
+ * (EXPLAIN with the original parameters): the expected index must be used and no
+ * table may be scanned unless the case says so. H2 picks an index from the WHERE
+ * clause only (ORDER BY is not costed), so where the composite (user_id, sort column)
+ * index and the user_id foreign key index serve the filter equally, the case only
+ * requires an index leading with user_id. Each query also has a latency budget at
+ * this data size (median of several runs, scaled by -Dquery-plan.budget-factor),
+ * checked only with -Dquery-plan.timing=true: the plan assertions are what gates the
+ * default build, wall-clock time on a shared machine does not.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.reminders.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TodoRepositoryQueryPlanTest {
+
+    private static final int USERS = 300;
+    private static final int HEAVY_USERS = 3;
+    private static final int HEAVY_USER_TODOS = 5000;
+    private static final int RUNS = 9;
+    // Untimed calls first, so the median reflects a warmed-up query path
+    private static final int WARMUP_RUNS = 5;
+    // Wall-clock budgets depend on the machine and its load, so they are only checked on request
+    private static final boolean TIMING = Boolean.getBoolean("query-plan.timing");
+    private static final double BUDGET_FACTOR = Double.parseDouble(System.getProperty("query-plan.budget-factor", "1"));
+
+    // Index used by a plan step: /* PUBLIC.IDX_NAME: ... */ or /* PUBLIC.TABLE.tableScan */
+    private static final Pattern PLAN_STEP = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_]+)(\\.tableScan)?");
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor sqlCapturePostProcessor() {
+            return SqlCapture.postProcessor();
+        }
+    }
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Index name -> "TABLE.LEADING_COLUMN"
+    private final Map<String, String> indexes = new HashMap<>();
+    private final LocalDate today = LocalDate.now();
+
+    private User typicalUser;
+    private Todo parentTodo;
+    private Todo rankedTodo;
+    private Todo recurringTodo;
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp registered = Timestamp.valueOf(now.minusDays(400));
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[] { "user" + i, "user" + i + "@example.com", "x".repeat(60), registered, registered });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, TRUE, ?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+
+        Todo.Status[] statuses = Todo.Status.values();
+        Todo.Priority[] priorities = Todo.Priority.values();
+        List<Object[]> todos = new ArrayList<>();
+        for (int u = 0; u < userIds.size(); u++) {
+            // A few heavy users, the rest with tens to a few hundred todos
+            int count = u < HEAVY_USERS ? HEAVY_USER_TODOS : 20 + random.nextInt(380);
+            for (int i = 0; i < count; i++) {
+                int roll = random.nextInt(100);
+                Todo.Status status = roll < 50 ? statuses[0] : roll < 70 ? statuses[1] : roll < 95 ? statuses[2]
+                        : statuses[3];
+                LocalDate due = random.nextInt(10) < 7 ? today.plusDays(random.nextInt(181) - 90) : null;
+                Timestamp created = Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+                boolean recurring = due != null && random.nextInt(50) == 0;
+                todos.add(new Object[] { "Todo " + i + " of user " + u, random.nextBoolean() ? "notes " + i : null,
+                        due, priorities[random.nextInt(priorities.length)].name(), status == Todo.Status.COMPLETED,
+                        status.name(), created, created, userIds.get(u), String.format("%08d", i),
+                        recurring ? "WEEKLY" : null });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO todos (title, description, due_date, priority, completed, status, "
+                + "created_at, updated_at, user_id, sort_rank, recurrence, child_count, completed_child_count) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)", todos);
+
+        // Every 20th todo becomes a subtask of the one before it, some occurrences get stored exceptions
+        jdbcTemplate.update("UPDATE todos t SET parent_id = t.id - 1 WHERE MOD(t.id, 20) = 0 "
+                + "AND EXISTS (SELECT 1 FROM todos p WHERE p.id = t.id - 1 AND p.user_id = t.user_id)");
+        jdbcTemplate.update("UPDATE todos p SET child_count = (SELECT COUNT(*) FROM todos c WHERE c.parent_id = p.id)");
+        jdbcTemplate.update("UPDATE todos e SET recurrence_source_id = (SELECT MIN(r.id) FROM todos r "
+                + "WHERE r.user_id = e.user_id AND r.recurrence IS NOT NULL), occurrence_date = e.due_date "
+                + "WHERE MOD(e.id, 97) = 0 AND e.recurrence IS NULL AND e.due_date IS NOT NULL");
+        jdbcTemplate.execute("ANALYZE");
+
+        jdbcTemplate.query("SELECT i.INDEX_NAME, i.TABLE_NAME, i.COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS i "
+                + "WHERE i.TABLE_SCHEMA = 'PUBLIC' AND i.ORDINAL_POSITION = 1", (ResultSet rs) -> {
+                    indexes.put(rs.getString(1), rs.getString(2) + "." + rs.getString(3));
+                });
+
+        Long typicalId = userIds.get(HEAVY_USERS + 10);
+        typicalUser = userRepository.findById(typicalId).orElseThrow();
+        List<Todo> own = todoRepository.findByUserIdOrderByCreatedAtDesc(typicalId);
+        parentTodo = own.stream().filter(t -> t.getChildCount() > 0).findFirst().orElse(own.get(0));
+        rankedTodo = own.get(own.size() / 2);
+        Long recurringId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM todos WHERE recurrence IS NOT NULL",
+                Long.class);
+        recurringTodo = todoRepository.findById(recurringId).orElseThrow();
+    }
+
+    /**
+     * What the plan of a query must show
+     */
+    private record Expect(Set<String> indexes, Set<String> leading, boolean scanAllowed) {
+
+        static Expect index(String... names) {
+            return new Expect(Set.of(names), Set.of(), false);
+        }
+
+        // Any index on the table whose first column is the given one
+        static Expect leading(String... tableColumns) {
+            return new Expect(Set.of(), Set.of(tableColumns), false);
+        }
+
+        static Expect scan() {
+            return new Expect(Set.of(), Set.of(), true);
+        }
+    }
+
+    private record Case(String name, Expect expect, double budgetMs, Runnable call) {
+    }
+
+    private List<Case> cases() {
+        User user = typicalUser;
+        Long userId = user.getId();
+        LocalDate from = today.minusDays(14);
+        LocalDate to = today.plusDays(14);
+        String userIdx = "TODOS.USER_ID";
+        return List.of(
+                new Case("findByUserOrderByCreatedAtDesc", Expect.leading(userIdx), 50,
+                        () -> todoRepository.findByUserOrderByCreatedAtDesc(user)),
+                new Case("findByUserIdOrderByCreatedAtDesc", Expect.leading(userIdx), 50,
+                        () -> todoRepository.findByUserIdOrderByCreatedAtDesc(userId)),
+                new Case("streamByUser", Expect.leading(userIdx), 50,
+                        () -> inTransaction(() -> {
+                            try (Stream<Todo> stream = todoRepository.streamByUser(user)) {
+                                stream.forEach(todo -> {
+                                });
+                            }
+                        })),
+                new Case("streamByUserNewestFirst", Expect.leading(userIdx), 50,
+                        () -> inTransaction(() -> {
+                            try (Stream<Todo> stream = todoRepository.streamByUserNewestFirst(user)) {
+                                stream.forEach(todo -> {
+                                });
+                            }
+                        })),
+                new Case("findByUserAndCompleted", Expect.leading(userIdx), 30,
+                        () -> todoRepository.findByUserAndCompleted(user, false)),
+                new Case("findByUserAndStatus", Expect.leading(userIdx), 30,
+                        () -> todoRepository.findByUserAndStatus(user, Todo.Status.PENDING)),
+                new Case("findByUserAndPriority", Expect.leading(userIdx), 30,
+                        () -> todoRepository.findByUserAndPriority(user, Todo.Priority.HIGH)),
+                new Case("findByUserAndDateBetweenOrderByDateAsc", Expect.index("IDX_TODOS_USER_DUE_DATE"), 20,
+                        () -> todoRepository.findByUserAndDateBetweenOrderByDateAsc(user, from, to)),
+                new Case("findByUserAndCompletedFalseAndDateBeforeOrderByDateAsc",
+                        Expect.index("IDX_TODOS_USER_DUE_DATE"), 20,
+                        () -> todoRepository.findByUserAndCompletedFalseAndDateBeforeOrderByDateAsc(user, today)),
+                new Case("findOpenDueBetween", Expect.index("IDX_TODOS_DUE_DATE"), 100,
+                        () -> todoRepository.findOpenDueBetween(today, today.plusDays(1))),
+                new Case("findFacetRowsByUserId", Expect.leading(userIdx), 20,
+                        () -> todoRepository.findFacetRowsByUserId(userId)),
+                new Case("findByUserAndDateIsNotNullOrderByDateAsc", Expect.leading(userIdx), 20,
+                        () -> todoRepository.findByUserAndDateIsNotNullOrderByDateAsc(user, PageRequest.of(0, 20))),
+                // GET /api/todos: Specification list, full entities and sparse fieldsets
+                new Case("findAll(spec, sort) default order", Expect.leading(userIdx), 50,
+                        () -> findByQuery(user, TodoQuery.of(null, null, null, null, null))),
+                new Case("findAll(spec, sort) status filter by due date", Expect.leading(userIdx), 50,
+                        () -> findByQuery(user, TodoQuery.of("pending", null, null, null, "date,asc"))),
+                new Case("findAll(spec, sort) manual order", Expect.leading(userIdx), 50,
+                        () -> findByQuery(user, TodoQuery.of(null, null, false, null, "rank"))),
+                new Case("findAttributes (sparse fieldset)", Expect.leading(userIdx), 30,
+                        () -> {
+                            TodoQuery query = TodoQuery.of(null, null, null, null, null);
+                            todoRepository.findAttributes(query.toSpecification(user), query.sort().getSort(),
+                                    TodoFields.parse("title,status,priority,date").attributes());
+                        }),
+                new Case("findByIdAndUser", Expect.leading("TODOS.ID"), 20,
+                        () -> todoRepository.findByIdAndUser(rankedTodo.getId(), user)),
+                new Case("findByUserAndTitleOrDescriptionContaining (search)", Expect.leading(userIdx), 30,
+                        () -> todoRepository.findByUserAndTitleOrDescriptionContaining(user, "notes 1")),
+                new Case("countByUserAndStatus", Expect.leading(userIdx), 20,
+                        () -> todoRepository.countByUserAndStatus(user, Todo.Status.COMPLETED)),
+                new Case("countByUserAndCompleted", Expect.leading(userIdx), 20,
+                        () -> todoRepository.countByUserAndCompleted(user, true)),
+                new Case("countByUserId", Expect.leading(userIdx), 20,
+                        () -> todoRepository.countByUserId(userId)),
+                new Case("findSubtree", Expect.leading("TODOS.ID"), 20,
+                        () -> todoRepository.findSubtree(parentTodo.getId(), userId, 10)),
+                new Case("adjustChildCounts", Expect.leading("TODOS.ID"), 20,
+                        () -> rolledBack(() -> todoRepository.adjustChildCounts(parentTodo.getId(), 0, 0))),
+                new Case("findRecurringInWindow", Expect.leading(userIdx), 20,
+                        () -> todoRepository.findRecurringInWindow(user, from, to)),
+                new Case("findByRecurrenceSourceIdInAndOccurrenceDateBetween",
+                        Expect.index("IDX_TODOS_RECURRENCE_SOURCE"), 20,
+                        () -> todoRepository.findByRecurrenceSourceIdInAndOccurrenceDateBetween(
+                                List.of(recurringTodo.getId()), from, to)),
+                new Case("findByRecurrenceSourceIdAndOccurrenceDate", Expect.index("IDX_TODOS_RECURRENCE_SOURCE"), 20,
+                        () -> todoRepository.findByRecurrenceSourceIdAndOccurrenceDate(recurringTodo.getId(), today)),
+                new Case("findIdsByRecurrenceSourceId", Expect.index("IDX_TODOS_RECURRENCE_SOURCE"), 20,
+                        () -> todoRepository.findIdsByRecurrenceSourceId(recurringTodo.getId())),
+                new Case("deleteByRecurrenceSourceId", Expect.index("IDX_TODOS_RECURRENCE_SOURCE"), 25,
+                        () -> rolledBack(() -> todoRepository.deleteByRecurrenceSourceId(recurringTodo.getId()))),
+                new Case("findMaxRank", Expect.index("IDX_TODOS_USER_RANK"), 20,
+                        () -> todoRepository.findMaxRank(userId)),
+                new Case("findByIdAndUserForUpdate", Expect.leading("TODOS.ID"), 20,
+                        () -> inTransaction(() -> todoRepository.findByIdAndUserForUpdate(rankedTodo.getId(), user))),
+                new Case("findFirstByUserAndRankGreaterThanOrderByRankAsc", Expect.index("IDX_TODOS_USER_RANK"), 20,
+                        () -> inTransaction(() -> todoRepository.findFirstByUserAndRankGreaterThanOrderByRankAsc(
+                                user, rankedTodo.getRank()))),
+                new Case("findFirstByUserAndRankLessThanOrderByRankDesc", Expect.index("IDX_TODOS_USER_RANK"), 20,
+                        () -> inTransaction(() -> todoRepository.findFirstByUserAndRankLessThanOrderByRankDesc(
+                                user, rankedTodo.getRank()))),
+                new Case("updateRank", Expect.leading("TODOS.ID"), 20,
+                        () -> rolledBack(() -> todoRepository.updateRank(rankedTodo.getId(), rankedTodo.getRank()))),
+                // Legacy cross-user query without a usable index: a full scan is the known plan
+                new Case("findByCompleted", Expect.scan(), 2000,
+                        () -> todoRepository.findByCompleted(true)),
+                new Case("findByUsername", Expect.leading("USERS.USERNAME"), 20,
+                        () -> userRepository.findByUsername(user.getUsername())),
+                new Case("findByEmail", Expect.leading("USERS.EMAIL"), 20,
+                        () -> userRepository.findByEmail(user.getEmail())),
+                // Known scans of the users table: OR across two columns (login looks the two
+                // up separately instead), the active flag and a substring match on names
+                new Case("findByUsernameOrEmail", Expect.scan(), 20,
+                        () -> userRepository.findByUsernameOrEmail(user.getUsername(), user.getUsername())),
+                new Case("findByIsActiveTrue", Expect.scan(), 50,
+                        () -> userRepository.findByIsActiveTrue()),
+                new Case("findByFirstNameOrLastNameContainingIgnoreCase", Expect.scan(), 20,
+                        () -> userRepository.findByFirstNameOrLastNameContainingIgnoreCase("ann")),
+                new Case("existsByUsername", Expect.leading("USERS.USERNAME"), 20,
+                        () -> userRepository.existsByUsername(user.getUsername())),
+                new Case("existsByEmail", Expect.leading("USERS.EMAIL"), 20,
+                        () -> userRepository.existsByEmail(user.getEmail())),
+                new Case("findByUsernameWithTodos", Expect.leading("USERS.USERNAME", userIdx), 50,
+                        () -> inTransaction(() -> userRepository.findByUsernameWithTodos(user.getUsername()))));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return cases().stream().map(c -> DynamicTest.dynamicTest(c.name(), () -> check(c)));
+    }
+
+    private void check(Case c) throws SQLException {
+        List<SqlCapture.Statement> statements = SqlCapture.capture(() -> c.call().run());
+        assertFalse(statements.isEmpty(), c.name() + " executed no statement");
+
+        for (SqlCapture.Statement statement : statements) {
+            String plan = explain(statement);
+            Set<String> used = new TreeSet<>();
+            Set<String> scanned = new TreeSet<>();
+            Matcher matcher = PLAN_STEP.matcher(plan);
+            while (matcher.find()) {
+                (matcher.group(2) != null ? scanned : used).add(matcher.group(1));
+            }
+            scanned.retainAll(Set.of("TODOS", "USERS"));
+
+            if (!c.expect().scanAllowed()) {
+                assertTrue(scanned.isEmpty(), c.name() + " scans " + scanned + ":\n" + plan);
+                for (String index : c.expect().indexes()) {
+                    assertTrue(used.contains(index), c.name() + " does not use " + index + ":\n" + plan);
+                }
+                for (String leading : c.expect().leading()) {
+                    assertTrue(used.stream().anyMatch(index -> leading.equals(indexes.get(index))),
+                            c.name() + " uses no index leading with " + leading + " (uses " + used + "):\n" + plan);
+                }
+            }
+        }
+
+        if (!TIMING) {
+            return;
+        }
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            c.call().run();
+        }
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            c.call().run();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        double median = millis[RUNS / 2];
+        double budget = c.budgetMs() * BUDGET_FACTOR;
+        if (median > budget) {
+            fail(String.format(Locale.ROOT, "%s took %.1f ms (median of %d), budget %.0f ms", c.name(), median,
+                    RUNS, budget));
+        }
+    }
+
+    private String explain(SqlCapture.Statement statement) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement explain = SqlCapture.prepare(connection, "EXPLAIN ", statement);
+                ResultSet rs = explain.executeQuery()) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    private void findByQuery(User user, TodoQuery query) {
+        todoRepository.findAll(query.toSpecification(user), query.sort().getSort());
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private void rolledBack(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            action.run();
+            status.setRollbackOnly();
+        });
+    }
+}
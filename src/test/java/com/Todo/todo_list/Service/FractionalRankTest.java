@@ -0,0 +1,107 @@
+package com.Todo.todo_list.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FractionalRankTest {
+
+    private static void assertBetween(String before, String key, String after) {
+        assertFalse(key.endsWith("0"), key + " ends with 0");
+        if (before != null) {
+            assertTrue(before.compareTo(key) < 0, before + " !< " + key);
+        }
+        if (after != null) {
+            assertTrue(key.compareTo(after) < 0, key + " !< " + after);
+        }
+    }
+
+    @Test
+    void betweenUnboundedAndAdjacentKeys() {
+        assertBetween(null, FractionalRank.between(null, null), null);
+        assertBetween("h", FractionalRank.between("h", null), null);
+        assertBetween(null, FractionalRank.between(null, "1"), "1");
+        assertBetween("a", FractionalRank.between("a", "b"), "b");
+        assertBetween("a", FractionalRank.between("a", "a1"), "a1");
+        assertBetween("az", FractionalRank.between("az", "b"), "b");
+        assertBetween("zzz", FractionalRank.between("zzz", null), null);
+    }
+
+    @Test
+    void repeatedInsertsKeepOrder() {
+        // Random inserts into a growing list must keep every key strictly between its neighbours
+        Random random = new Random(7);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int at = random.nextInt(keys.size() + 1);
+            String before = at > 0 ? keys.get(at - 1) : null;
+            String after = at < keys.size() ? keys.get(at) : null;
+            String key = FractionalRank.between(before, after);
+            assertBetween(before, key, after);
+            keys.add(at, key);
+        }
+        List<String> sorted = new ArrayList<>(keys);
+        sorted.sort(null);
+        assertEquals(sorted, keys);
+    }
+
+    @Test
+    void appendingAtTheFrontStaysShort() {
+        String first = FractionalRank.between(null, null);
+        for (int i = 0; i < 100; i++) {
+            String key = FractionalRank.between(null, first);
+            assertBetween(null, key, first);
+            first = key;
+        }
+        assertTrue(first.length() < 40, "key grew to " + first.length());
+    }
+
+    @Test
+    void rejectsUnorderedOrInvalidKeys() {
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("a", "a"));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("a0", null));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between(null, ""));
+    }
+
+    @Test
+    void evenlySpacedKeysAreOrderedEqualLengthWithRoom() {
+        for (int count : new int[] { 1, 35, 36, 1000, 50000 }) {
+            List<String> keys = FractionalRank.evenlySpaced(count);
+            assertEquals(count, keys.size());
+            int maxLength = keys.stream().mapToInt(String::length).max().orElse(0);
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                assertFalse(key.endsWith("0"), key);
+                if (i > 0) {
+                    assertTrue(keys.get(i - 1).compareTo(key) < 0, keys.get(i - 1) + " !< " + key);
+                    // Room to insert between neighbours without growing past one extra digit
+                    assertTrue(FractionalRank.between(keys.get(i - 1), key).length() <= maxLength + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    void evenlySpacedBetweenBoundsStaysInsideThem() {
+        String[][] bounds = { { null, null }, { "h", null }, { null, "1" }, { "a", "a1" }, { "az", "b" },
+                { "m0zzzzzzzzzy", "m0zzzzzzzzzz" } };
+        for (String[] bound : bounds) {
+            String previous = bound[0];
+            for (String key : FractionalRank.evenlySpaced(bound[0], bound[1], 500)) {
+                assertBetween(previous, key, bound[1]);
+                previous = key;
+            }
+        }
+        // Unbounded on both sides it is the plain rebalancing layout
+        assertEquals(FractionalRank.evenlySpaced(1000), FractionalRank.evenlySpaced(null, null, 1000));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.evenlySpaced("b", "a", 3));
+    }
+}
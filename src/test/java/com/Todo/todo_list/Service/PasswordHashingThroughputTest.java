@@ -0,0 +1,106 @@
+package com.Todo.todo_list.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.Todo.todo_list.Config.CalibratedPasswordEncoder;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Repository.UserRepository;
+
+/**
+ * Logins per second through AuthService.authenticateUser at several BCrypt costs,
+ * against the table the calibration reports on /api/admin/password-hashing. Each
+ * login is timed on its own and the best is kept, like the calibration does, once the
+ * hashing code is compiled. The band is wide: it only catches an estimate that is off
+ * by more than the noise of a shared machine, e.g. if the cost stopped doubling the
+ * work or a login spent a second hash.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:passwordhashing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.reminders.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false",
+        "todo.security.bcrypt-strength=4"
+})
+class PasswordHashingThroughputTest {
+
+    private static final int MIN_COST = 8;
+    private static final int MAX_COST = 12;
+    private static final int LOGINS = 5;
+    private static final long LOGIN_NANOS = 250_000_000;
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Best login time in milliseconds with every hash made at the given cost, over at
+    // least LOGINS logins and LOGIN_NANOS
+    private double bestLoginMs(int cost) {
+        CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.withStrength(cost);
+        Object target = AopTestUtils.getUltimateTargetObject(authService);
+        PasswordEncoder previous = (PasswordEncoder) ReflectionTestUtils.getField(target, "passwordEncoder");
+        ReflectionTestUtils.setField(target, "passwordEncoder", encoder);
+        try {
+            String name = "p" + UUID.randomUUID().toString().substring(0, 8);
+            User user = userRepository.save(new User(name, name + "@example.com", encoder.encode(PASSWORD)));
+
+            authService.authenticateUser(name, PASSWORD);
+            long best = Long.MAX_VALUE;
+            long spent = 0;
+            for (int i = 0; i < LOGINS || spent < LOGIN_NANOS; i++) {
+                long start = System.nanoTime();
+                User authenticated = authService.authenticateUser(name, PASSWORD);
+                long elapsed = System.nanoTime() - start;
+                best = Math.min(best, elapsed);
+                spent += elapsed;
+                assertEquals(user.getId(), authenticated.getId());
+            }
+            return best / 1e6;
+        } finally {
+            ReflectionTestUtils.setField(target, "passwordEncoder", previous);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loginThroughputFollowsTheCalibrationTable() {
+        // Highest cost first: its long logins give the JIT time to settle after the
+        // context started, before the short hashes are timed
+        Map<Integer, Double> loginMs = new TreeMap<>();
+        for (int cost = MAX_COST; cost >= MIN_COST; cost -= 2) {
+            loginMs.put(cost, bestLoginMs(cost));
+        }
+        // A target of 0 keeps the lowest cost: one row measured, the others estimated
+        Map<Integer, Map<String, Object>> table = (Map<Integer, Map<String, Object>>) CalibratedPasswordEncoder
+                .calibrate(0, MIN_COST, MAX_COST).getCalibration().get("costs");
+
+        StringBuilder report = new StringBuilder();
+        loginMs.forEach((cost, ms) -> report.append(String.format(Locale.ROOT,
+                "cost %d: %.1f logins/s (%.1f ms), table %s%.1f ms%n", cost, 1000 / ms, ms,
+                Boolean.TRUE.equals(table.get(cost).get("estimate")) ? "estimate " : "",
+                table.get(cost).get("hashMs"))));
+        loginMs.forEach((cost, ms) -> {
+            double tableMs = (Double) table.get(cost).get("hashMs");
+            assertEquals(cost != MIN_COST, table.get(cost).get("estimate"));
+            assertTrue(ms > tableMs / 2 && ms < tableMs * 3, report.toString());
+        });
+        System.out.print(report);
+    }
+}
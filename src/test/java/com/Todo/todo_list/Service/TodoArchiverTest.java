@@ -0,0 +1,85 @@
+package com.Todo.todo_list.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.Todo.todo_list.Dto.Occurrence;
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Repository.TodoRepository;
+import com.Todo.todo_list.Repository.UserRepository;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todoservices;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.reminders.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false",
+        "todo.security.bcrypt-strength=4"
+})
+class TodoArchiverTest {
+
+    @Autowired
+    private TodoArchiver archiver;
+
+    @Autowired
+    private TodoServices todoServices;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void completedOccurrencesAreNotArchived() {
+        String name = "a" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User(name, name + "@example.com", "x".repeat(60)));
+        LocalDate start = LocalDate.now().minusDays(70);
+
+        Todo standalone = new Todo("done long ago", null, start, user);
+        standalone.setCompleted(true);
+        standalone.setStatus(Todo.Status.COMPLETED);
+        standalone = todoServices.save(standalone);
+
+        Todo weekly = new Todo("weekly", null, start, user);
+        weekly.setRecurrence(Todo.Recurrence.WEEKLY);
+        weekly.setCompleted(true);
+        weekly.setStatus(Todo.Status.COMPLETED);
+        weekly = todoServices.save(weekly);
+
+        Todo exception = new Todo("weekly", null, start, user);
+        exception.setRecurrenceSourceId(weekly.getId());
+        exception.setOccurrenceDate(start);
+        exception.setCompleted(true);
+        exception.setStatus(Todo.Status.COMPLETED);
+        exception = todoServices.save(exception);
+
+        jdbcTemplate.update("UPDATE todos SET updated_at = ? WHERE user_id = ?",
+                LocalDateTime.now().minusDays(60), user.getId());
+        archiver.archive(LocalDateTime.now().minusDays(30));
+
+        assertTrue(todoRepository.findById(standalone.getId()).isEmpty());
+        assertTrue(todoRepository.findById(weekly.getId()).isPresent());
+        assertTrue(todoRepository.findById(exception.getId()).isPresent());
+
+        // The completed occurrence is still served from its stored exception
+        List<Occurrence> occurrences = todoServices.findOccurrences(user, start, start);
+        assertEquals(1, occurrences.size());
+        assertTrue(occurrences.get(0).completed());
+    }
+}
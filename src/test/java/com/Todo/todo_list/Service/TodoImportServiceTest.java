@@ -0,0 +1,95 @@
+package com.Todo.todo_list.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Repository.TodoRepository;
+import com.Todo.todo_list.Repository.UserRepository;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todoimport;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.reminders.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false",
+        "todo.import.chunk-size=3",
+        "todo.security.bcrypt-strength=4"
+})
+class TodoImportServiceTest {
+
+    @Autowired
+    private TodoImportService importService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Ten NDJSON lines, the fifth one invalid
+    private static String body() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            body.append(i == 5 ? "{\"title\":\"\"}" : "{\"title\":\"row " + i + "\"}").append('\n');
+        }
+        return body.toString();
+    }
+
+    // The first bytes of the body, then the connection breaks
+    private static InputStream brokenAfter(String body, int lines) {
+        int end = 0;
+        for (int i = 0; i < lines; i++) {
+            end = body.indexOf('\n', end) + 1;
+        }
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        return new SequenceInputStream(
+                new ByteArrayInputStream(body.substring(0, end).getBytes(StandardCharsets.UTF_8)), broken);
+    }
+
+    @Test
+    void aFailedImportReportsWhereToResume() {
+        String name = "i" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User(name, name + "@example.com", "x".repeat(60)));
+        String body = body();
+
+        // Rows 1-6 are read: rows 1-3 are committed, rows 4 and 6 still pending
+        TodoImportService.ImportFailedException failure = assertThrows(TodoImportService.ImportFailedException.class,
+                () -> importService.importTodos(user, TodoExportService.Format.NDJSON, brokenAfter(body, 6), 0));
+        TodoImportService.ImportResult partial = failure.getResult();
+        assertEquals(3, partial.imported());
+        assertEquals(3, partial.lastCommittedRow());
+        assertEquals(3, todoRepository.countByUserId(user.getId()));
+
+        TodoImportService.ImportResult resumed = importService.importTodos(user, TodoExportService.Format.NDJSON,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), partial.lastCommittedRow());
+        assertEquals(6, resumed.imported());
+        assertEquals(1, resumed.failed());
+        assertEquals(5, resumed.errors().get(0).row());
+        assertEquals(10, resumed.lastCommittedRow());
+
+        List<String> titles = todoRepository.findByUserOrderByCreatedAtDesc(user).stream().map(Todo::getTitle)
+                .sorted().toList();
+        assertEquals(List.of("row 1", "row 10", "row 2", "row 3", "row 4", "row 6", "row 7", "row 8", "row 9"),
+                titles);
+    }
+}
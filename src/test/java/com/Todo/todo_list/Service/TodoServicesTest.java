@@ -0,0 +1,206 @@
+package com.Todo.todo_list.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Todo.todo_list.Entity.Todo;
+import com.Todo.todo_list.Entity.User;
+import com.Todo.todo_list.Facets.FacetSelection;
+import com.Todo.todo_list.Facets.TodoFacetIndex;
+import com.Todo.todo_list.Repository.TodoRepository;
+import com.Todo.todo_list.Repository.UserRepository;
+
+/**
+ * Write paths of TodoServices against an in-memory H2 database: roll-ups and other
+ * columns maintained by targeted UPDATEs must survive full-entity saves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todoservices;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.reminders.enabled=false",
+        "todo.journal.enabled=false",
+        "todo.analytics.enabled=false",
+        "todo.security.bcrypt-strength=4",
+        "todo.rank.rebalance-batch-size=4"
+})
+class TodoServicesTest {
+
+    @Autowired
+    private TodoServices todoServices;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoFacetIndex facetIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RankRebalancer rankRebalancer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String name = "u" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User(name, name + "@example.com", "x".repeat(60)));
+    }
+
+    private Todo newTodo(String title, Long parentId) {
+        Todo todo = new Todo(title, null, null, user);
+        todo.setParentId(parentId);
+        return todoServices.save(todo);
+    }
+
+    @Test
+    void savingAStaleParentKeepsChildCounts() {
+        Todo parent = newTodo("parent", null);
+        Todo staleParent = todoServices.findById(parent.getId()).orElseThrow();
+
+        Todo child = newTodo("child", parent.getId());
+        child.setCompleted(true);
+        todoServices.save(child);
+
+        // The parent was loaded before the child existed; saving it must not write 0 back
+        staleParent.setTitle("parent renamed");
+        todoServices.save(staleParent);
+
+        Todo reloaded = todoRepository.findById(parent.getId()).orElseThrow();
+        assertEquals("parent renamed", reloaded.getTitle());
+        assertEquals(1, reloaded.getChildCount());
+        assertEquals(1, reloaded.getCompletedChildCount());
+    }
+
+    @Test
+    void savingAStaleTodoKeepsItsMovedRank() {
+        Todo first = newTodo("first", null);
+        Todo second = newTodo("second", null);
+        Todo staleSecond = todoServices.findById(second.getId()).orElseThrow();
+
+        // Move second before first, then save the copy loaded before the move
+        String rank = todoServices.move(todoServices.findById(second.getId()).orElseThrow(), null, first.getId());
+        staleSecond.setCompleted(true);
+        todoServices.save(staleSecond);
+
+        Todo reloaded = todoRepository.findById(second.getId()).orElseThrow();
+        assertTrue(reloaded.isCompleted());
+        assertEquals(rank, reloaded.getRank());
+        assertTrue(rank.compareTo(first.getRank()) < 0);
+    }
+
+    @Test
+    void duplicateRankKeysAreRenumbered() {
+        Todo first = newTodo("first", null);
+        // A create that read the same maximum rank as a concurrent one
+        Todo copy = new Todo("copy", null, null, user);
+        copy.setRank(first.getRank());
+        copy = todoServices.save(copy);
+        Todo third = newTodo("third", null);
+
+        rankRebalancer.rebalancePending();
+
+        String firstRank = todoRepository.findById(first.getId()).orElseThrow().getRank();
+        String copyRank = todoRepository.findById(copy.getId()).orElseThrow().getRank();
+        assertNotEquals(firstRank, copyRank);
+        // Renumbering keeps the order, ties by creation
+        assertTrue(firstRank.compareTo(copyRank) < 0);
+        assertTrue(copyRank.compareTo(todoRepository.findById(third.getId()).orElseThrow().getRank()) < 0);
+    }
+
+    @Test
+    void movingBetweenEqualKeysQueuesARenumbering() {
+        Todo first = newTodo("first", null);
+        Todo second = newTodo("second", null);
+        Todo moved = newTodo("moved", null);
+        jdbcTemplate.update("UPDATE todos SET sort_rank = ? WHERE id = ?", first.getRank(), second.getId());
+
+        assertThrows(IllegalStateException.class,
+                () -> todoServices.move(todoServices.findById(moved.getId()).orElseThrow(), first.getId(), second.getId()));
+
+        rankRebalancer.rebalancePending();
+        String rank = todoServices.move(todoServices.findById(moved.getId()).orElseThrow(), first.getId(), second.getId());
+        assertTrue(todoRepository.findById(first.getId()).orElseThrow().getRank().compareTo(rank) < 0);
+        assertTrue(rank.compareTo(todoRepository.findById(second.getId()).orElseThrow().getRank()) < 0);
+    }
+
+    @Test
+    void aMoveIntoAFilledGapGoesNextToTheTodoThatFilledIt() {
+        Todo first = newTodo("first", null);
+        Todo second = newTodo("second", null);
+        Todo a = newTodo("a", null);
+        Todo b = newTodo("b", null);
+
+        // Both moves name the same neighbours; the second runs after the first committed
+        String rankA = todoServices.move(todoServices.findById(a.getId()).orElseThrow(), first.getId(), second.getId());
+        String rankB = todoServices.move(todoServices.findById(b.getId()).orElseThrow(), first.getId(), second.getId());
+
+        assertNotEquals(rankA, rankB);
+        assertTrue(first.getRank().compareTo(rankB) < 0);
+        assertTrue(rankB.compareTo(rankA) < 0);
+        assertTrue(rankA.compareTo(second.getRank()) < 0);
+    }
+
+    @Test
+    void rebalanceInBatchesKeepsTheOrder() {
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            todos.add(newTodo("todo " + i, null));
+        }
+        // Two todos without a rank yet, and a run of long keys from repeated moves
+        jdbcTemplate.update("UPDATE todos SET sort_rank = NULL WHERE id IN (?, ?)", todos.get(3).getId(),
+                todos.get(7).getId());
+        for (int i = 0; i < 30; i++) {
+            Todo moved = todos.get(i % 2 == 0 ? 9 : 10);
+            todoServices.move(todoServices.findById(moved.getId()).orElseThrow(), todos.get(1).getId(), null);
+        }
+        String listOrder = "SELECT id FROM todos WHERE user_id = ? "
+                + "ORDER BY CASE WHEN sort_rank IS NULL THEN 0 ELSE 1 END, sort_rank, created_at, id";
+        List<Long> before = jdbcTemplate.queryForList(listOrder, Long.class, user.getId());
+
+        rankRebalancer.rebalance(user.getId());
+
+        List<String> ranks = jdbcTemplate.queryForList("SELECT sort_rank FROM todos WHERE user_id = ? ORDER BY sort_rank",
+                String.class, user.getId());
+        assertEquals(before, jdbcTemplate.queryForList(listOrder, Long.class, user.getId()));
+        assertEquals(ranks.size(), new HashSet<>(ranks).size());
+        assertTrue(ranks.stream().allMatch(rank -> rank != null && rank.length() <= 2), ranks.toString());
+    }
+
+    @Test
+    void rolledBackSaveLeavesFacetIndexUnchanged() {
+        newTodo("kept", null);
+        assertEquals(1, facetIndex.query(user.getId(), FacetSelection.ALL).total());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            newTodo("rolled back", null);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, todoRepository.countByUserId(user.getId()));
+        assertEquals(1, facetIndex.query(user.getId(), FacetSelection.ALL).total());
+    }
+}